@@ -0,0 +1,63 @@
+package com.automation.core.actions;
+
+import com.automation.core.browser.DriverManager;
+import com.automation.core.config.ConfigManager;
+import com.automation.core.elements.Element;
+import com.automation.core.elements.PageReadiness;
+import com.automation.core.utils.Deadline;
+import com.automation.core.utils.WaitUtil;
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.time.Duration;
+
+/**
+ * Cheap check that a page is usable, awaited by WebActions.navigateTo instead of
+ * (or on top of) the browser's page load event. Pages declare one by overriding
+ * BasePage.readinessProbe().
+ */
+@FunctionalInterface
+public interface ReadinessProbe {
+    
+    /**
+     * Block until the page is ready, throwing if it is not ready within the timeout
+     */
+    void await(Duration timeout);
+    
+    /**
+     * Ready once the element is visible
+     */
+    static ReadinessProbe visible(Element element) {
+        return timeout -> Deadline.run("readiness of " + element.getElementName(), timeout, element::waitForVisible);
+    }
+    
+    /**
+     * Ready once the JavaScript expression evaluates truthy, e.g. "window.appReady === true"
+     */
+    static ReadinessProbe script(String predicate) {
+        String script = "return !!(" + predicate + ");";
+        return timeout -> WaitUtil.waitFor(
+                () -> (Boolean) ((JavascriptExecutor) DriverManager.getDriver()).executeScript(script),
+                timeout,
+                Duration.ofMillis(ConfigManager.getInstance().getPollingInterval()));
+    }
+    
+    /**
+     * Ready once no fetch/XHR request has been in flight for the configured quiet period
+     */
+    static ReadinessProbe networkIdle() {
+        return timeout -> PageReadiness.waitForNetworkIdle(
+                Duration.ofMillis(ConfigManager.getInstance().getNetworkQuietPeriod()), 0, timeout);
+    }
+    
+    /**
+     * Ready once this probe and then the other one pass, sharing one timeout
+     */
+    default ReadinessProbe and(ReadinessProbe other) {
+        return timeout -> {
+            try (Deadline deadline = Deadline.start("readiness", timeout)) {
+                await(deadline.remaining());
+                other.await(deadline.remaining());
+            }
+        };
+    }
+}
@@ -0,0 +1,301 @@
+package com.automation.core.actions;
+
+import com.automation.core.browser.DriverManager;
+import com.automation.core.browser.SessionWatchdog;
+import com.automation.core.config.ConfigManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Signed-in browser state (cookies, localStorage, sessionStorage) captured after a real
+ * login and restored into fresh sessions, keyed by user and environment.
+ * Snapshots are kept in memory and written to auth.state.dir under a per-run key
+ * (auth.state.run.id), so parallel threads and later test classes of the run share one
+ * login per user while a new run always logs in again. A snapshot is expired once it
+ * is older than auth.state.max.age or any of its cookies has expired; callers drop it
+ * with invalidate() when the application rejects it.
+ * On Chromium, state is restored before the first navigation: cookies through CDP and web
+ * storage by a script that seeds the next document of the snapshot's origin. Other
+ * browsers first open a light same-origin page (auth.state.restore.path).
+ */
+@Slf4j
+public class StorageState {
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final long COOKIE_EXPIRY_MARGIN_MS = 60_000;
+    
+    private static final String CAPTURE_SCRIPT =
+            "function dump(storage) {" +
+            "  var out = {};" +
+            "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); out[key] = storage.getItem(key); }" +
+            "  return out;" +
+            "}" +
+            "return {origin: location.origin, local: dump(localStorage), session: dump(sessionStorage)};";
+    
+    private static final String WRITE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];" +
+            "Object.keys(local).forEach(function (key) { localStorage.setItem(key, local[key]); });" +
+            "Object.keys(session).forEach(function (key) { sessionStorage.setItem(key, session[key]); });";
+    
+    private static final String CLEAR_SCRIPT = "localStorage.clear(); sessionStorage.clear();";
+    
+    private static final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, String> pendingSeeds = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    /**
+     * Browser state of one signed-in user
+     */
+    public record Snapshot(String user, String environment, String origin, long capturedAt,
+                           List<StoredCookie> cookies, Map<String, String> localStorage,
+                           Map<String, String> sessionStorage) {
+        
+        public boolean hasExpired() {
+            long now = System.currentTimeMillis();
+            if (now - capturedAt > config.getAuthStateMaxAge() * 1000L) {
+                return true;
+            }
+            return cookies.stream().anyMatch(cookie -> cookie.expiry() != null
+                    && cookie.expiry() < now + COOKIE_EXPIRY_MARGIN_MS);
+        }
+    }
+    
+    /**
+     * Cookie fields that survive serialization; expiry in epoch milliseconds, null for session cookies
+     */
+    public record StoredCookie(String name, String value, String domain, String path, Long expiry,
+                               boolean secure, boolean httpOnly, String sameSite) {
+        
+        static StoredCookie of(Cookie cookie) {
+            return new StoredCookie(cookie.getName(), cookie.getValue(), cookie.getDomain(), cookie.getPath(),
+                    cookie.getExpiry() == null ? null : cookie.getExpiry().getTime(),
+                    cookie.isSecure(), cookie.isHttpOnly(), cookie.getSameSite());
+        }
+        
+        Cookie toCookie() {
+            Cookie.Builder builder = new Cookie.Builder(name, value)
+                    .domain(domain)
+                    .path(path)
+                    .isSecure(secure)
+                    .isHttpOnly(httpOnly);
+            if (expiry != null) {
+                builder.expiresOn(new Date(expiry));
+            }
+            if (sameSite != null) {
+                builder.sameSite(sameSite);
+            }
+            return builder.build();
+        }
+        
+        Map<String, Object> toCdpParams() {
+            Map<String, Object> params = new HashMap<>();
+            params.put("name", name);
+            params.put("value", value);
+            params.put("domain", domain);
+            params.put("path", path);
+            params.put("secure", secure);
+            params.put("httpOnly", httpOnly);
+            if (expiry != null) {
+                params.put("expires", expiry / 1000.0);
+            }
+            if (sameSite != null) {
+                params.put("sameSite", sameSite);
+            }
+            return params;
+        }
+    }
+    
+    /**
+     * Check if signed-in state is reused between tests
+     */
+    public static boolean isEnabled() {
+        return config.isAuthStateEnabled();
+    }
+    
+    /**
+     * Capture the current session's state for a user; call on a page of the signed-in origin
+     */
+    public static Snapshot capture(WebActions actions, String user) {
+        List<StoredCookie> cookies = actions.getAllCookies().stream().map(StoredCookie::of).toList();
+        Map<?, ?> storage = (Map<?, ?>) actions.executeScript(CAPTURE_SCRIPT);
+        return new Snapshot(user, config.getEnvironment(), (String) storage.get("origin"), System.currentTimeMillis(),
+                cookies, stringMap(storage.get("local")), stringMap(storage.get("session")));
+    }
+    
+    /**
+     * Keep a snapshot for the rest of the run, in memory and on disk
+     */
+    public static void save(Snapshot snapshot) {
+        if (!isEnabled()) {
+            return;
+        }
+        snapshots.put(key(snapshot.user()), snapshot);
+        Path file = file(snapshot.user());
+        try {
+            Files.createDirectories(file.getParent());
+            mapper.writeValue(file.toFile(), snapshot);
+            log.info("Stored signed-in state for '{}' ({} cookie(s))", snapshot.user(), snapshot.cookies().size());
+        } catch (IOException e) {
+            log.warn("Could not write signed-in state to {}: {}", file, e.getMessage());
+        }
+    }
+    
+    /**
+     * Unexpired snapshot of a user in the current environment, from memory or disk
+     */
+    public static Optional<Snapshot> load(String user) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        Snapshot snapshot = snapshots.computeIfAbsent(key(user), ignored -> read(user));
+        if (snapshot != null && snapshot.hasExpired()) {
+            log.info("Signed-in state for '{}' has expired", user);
+            invalidate(user);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot);
+    }
+    
+    /**
+     * Restore a user's unexpired snapshot into the current session; false if there is none
+     */
+    public static boolean restore(WebActions actions, String user) {
+        Optional<Snapshot> snapshot = load(user);
+        if (snapshot.isEmpty()) {
+            return false;
+        }
+        WebDriver driver = DriverManager.getDriver();
+        if (driver instanceof HasCdp && seed(driver, snapshot.get())) {
+            log.info("Restored signed-in state for '{}' before navigation", user);
+            return true;
+        }
+        actions.navigateTo(snapshot.get().origin() + config.getAuthStateRestorePath());
+        for (StoredCookie cookie : snapshot.get().cookies()) {
+            actions.addCookie(cookie.toCookie());
+        }
+        actions.executeScript(WRITE_SCRIPT, snapshot.get().localStorage(), snapshot.get().sessionStorage());
+        log.info("Restored signed-in state for '{}'", user);
+        return true;
+    }
+    
+    /**
+     * Drop a user's snapshot, e.g. when the application rejected it
+     */
+    public static void invalidate(String user) {
+        snapshots.remove(key(user));
+        try {
+            Files.deleteIfExists(file(user));
+        } catch (IOException e) {
+            log.warn("Could not delete signed-in state of '{}': {}", user, e.getMessage());
+        }
+    }
+    
+    /**
+     * Remove restored state from the current session before a fresh login
+     */
+    public static void clear(WebActions actions) {
+        WebDriver driver = DriverManager.getDriver();
+        String seed = pendingSeeds.remove(driver);
+        if (seed != null && driver instanceof HasCdp chromium) {
+            chromium.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", seed));
+        }
+        actions.deleteAllCookies();
+        actions.executeScript(CLEAR_SCRIPT);
+    }
+    
+    /**
+     * Stop seeding web storage once the first document after a restore has loaded
+     */
+    static void afterNavigation(WebDriver driver) {
+        discardSeed(driver);
+    }
+    
+    /**
+     * Remove a storage seed no WebActions navigation consumed (the test failed, or navigated
+     * through the driver) before the session is reused by another test
+     */
+    public static void discardSeed(WebDriver driver) {
+        String seed = pendingSeeds.remove(driver);
+        if (seed == null || !(driver instanceof HasCdp chromium)) {
+            return;
+        }
+        try {
+            chromium.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", seed));
+        } catch (WebDriverException e) {
+            log.debug("Could not remove storage seed script: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Set cookies and register the storage seed over CDP; false if CDP is unavailable
+     */
+    private static boolean seed(WebDriver driver, Snapshot snapshot) {
+        HasCdp cdp = (HasCdp) driver;
+        try {
+            cdp.executeCdpCommand("Network.setCookies", Map.of("cookies",
+                    snapshot.cookies().stream().map(StoredCookie::toCdpParams).toList()));
+            String source = "(function (origin, local, session) {" +
+                    "  if (location.origin !== origin) { return; }" +
+                    "  Object.keys(local).forEach(function (key) { localStorage.setItem(key, local[key]); });" +
+                    "  Object.keys(session).forEach(function (key) { sessionStorage.setItem(key, session[key]); });" +
+                    "})(" + mapper.writeValueAsString(snapshot.origin()) + ", "
+                    + mapper.writeValueAsString(snapshot.localStorage()) + ", "
+                    + mapper.writeValueAsString(snapshot.sessionStorage()) + ");";
+            Map<String, Object> result = cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                    Map.of("source", source));
+            pendingSeeds.put(driver, String.valueOf(result.get("identifier")));
+            return true;
+        } catch (WebDriverException | IOException e) {
+            log.debug("Cannot restore state over CDP, restoring on the page: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    private static Snapshot read(String user) {
+        Path file = file(user);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return mapper.readValue(file.toFile(), Snapshot.class);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable signed-in state {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+    
+    private static String key(String user) {
+        return config.getEnvironment() + "/" + user;
+    }
+    
+    private static Path file(String user) {
+        String run = config.getAuthStateRunId().isBlank() ? SessionWatchdog.RUN_ID : config.getAuthStateRunId();
+        return Paths.get(config.getAuthStateDir(), run, config.getEnvironment(),
+                user.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+    }
+    
+    private static Map<String, String> stringMap(Object value) {
+        Map<String, String> strings = new HashMap<>();
+        if (value instanceof Map<?, ?> map) {
+            map.forEach((key, item) -> strings.put(String.valueOf(key), String.valueOf(item)));
+        }
+        return strings;
+    }
+}
@@ -1,6 +1,15 @@
 package com.automation.core.actions;
 
+import com.automation.core.browser.BrowserContextManager;
+import com.automation.core.browser.DriverFactory;
 import com.automation.core.browser.DriverManager;
+import com.automation.core.browser.FastRender;
+import com.automation.core.config.ConfigManager;
+import com.automation.core.elements.ElementCache;
+import com.automation.core.elements.PageClock;
+import com.automation.core.elements.PageReadiness;
+import com.automation.core.utils.Deadline;
+import com.automation.core.utils.WaitUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
@@ -19,46 +28,125 @@ import java.util.Set;
 @Slf4j
 public class WebActions {
     
-    private final WebDriver driver;
-    private final Actions actions;
-    private final JavascriptExecutor jsExecutor;
+    private static final ConfigManager config = ConfigManager.getInstance();
     
-    public WebActions() {
-        this.driver = DriverManager.getDriver();
-        this.actions = new Actions(driver);
-        this.jsExecutor = (JavascriptExecutor) driver;
+    private static final String MARK_LEAVING_SCRIPT =
+            "var target = new URL(arguments[0], location.href);" +
+            "if (target.hash && target.href.split('#')[0] === location.href.split('#')[0]) { return false; }" +
+            "window.__automationLeaving = true;" +
+            "return true;";
+    
+    /**
+     * The current thread's driver, resolved per call like BasePage.driver(), so creating
+     * WebActions does not start a browser
+     */
+    private WebDriver driver() {
+        return DriverManager.getDriver();
+    }
+    
+    private Actions actions() {
+        return new Actions(driver());
+    }
+    
+    private JavascriptExecutor jsExecutor() {
+        return (JavascriptExecutor) driver();
     }
     
     // ========== Navigation ==========
     
     public void navigateTo(String url) {
-        driver.get(url);
+        navigateTo(url, DriverFactory.pageLoadStrategy(), null);
+    }
+    
+    public void navigateTo(String url, ReadinessProbe probe) {
+        navigateTo(url, DriverFactory.pageLoadStrategy(), probe);
+    }
+    
+    /**
+     * Navigate and return once the document reaches the given load strategy and the probe passes.
+     * The session's strategy (browser.page.load.strategy) still bounds how early driver.get returns,
+     * so a looser per-navigation strategy only takes effect on sessions started with "none".
+     */
+    public void navigateTo(String url, PageLoadStrategy strategy, ReadinessProbe probe) {
+        PageReadiness.prepare();
+        boolean detached = DriverFactory.pageLoadStrategy() == PageLoadStrategy.NONE;
+        try (Deadline deadline = Deadline.start("navigate to " + url, Duration.ofSeconds(config.getPageLoadTimeout()))) {
+            boolean leaving = detached && markCurrentDocument(url);
+            driver().get(url);
+            if (leaving) {
+                waitForScript("return !window.__automationLeaving;", deadline);
+            }
+            ElementCache.invalidate(driver());
+            FastRender.afterNavigation(driver());
+            PageClock.afterNavigation(driver());
+            StorageState.afterNavigation(driver());
+            waitForReadyState(strategy, deadline);
+            if (probe != null) {
+                probe.await(deadline.remaining());
+            }
+        }
+        DriverFactory.recordFirstNavigation(driver());
         log.info("Navigated to URL: {}", url);
     }
     
+    /**
+     * Flag the current document so the next one can be told apart from it. A URL that differs
+     * only by its fragment stays in the same document, which is never unloaded, so it is not
+     * flagged; returns whether the document was flagged.
+     */
+    private boolean markCurrentDocument(String url) {
+        try {
+            return Boolean.TRUE.equals(jsExecutor().executeScript(MARK_LEAVING_SCRIPT, url));
+        } catch (WebDriverException e) {
+            log.trace("No document to mark before navigation: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Wait for the ready state the session strategy did not already wait for
+     */
+    private void waitForReadyState(PageLoadStrategy strategy, Deadline deadline) {
+        PageLoadStrategy session = DriverFactory.pageLoadStrategy();
+        if (strategy == PageLoadStrategy.NONE || session == PageLoadStrategy.NORMAL || strategy == session) {
+            return;
+        }
+        waitForScript(strategy == PageLoadStrategy.NORMAL
+                ? "return document.readyState === 'complete';"
+                : "return document.readyState !== 'loading';", deadline);
+    }
+    
+    private void waitForScript(String script, Deadline deadline) {
+        WaitUtil.waitFor(() -> jsExecutor().executeScript(script), deadline.remaining(),
+                Duration.ofMillis(config.getPollingInterval()));
+    }
+    
     public void refresh() {
-        driver.navigate().refresh();
+        driver().navigate().refresh();
+        ElementCache.invalidate(driver());
         log.info("Page refreshed");
     }
     
     public void back() {
-        driver.navigate().back();
+        driver().navigate().back();
+        ElementCache.invalidate(driver());
         log.info("Navigated back");
     }
     
     public void forward() {
-        driver.navigate().forward();
+        driver().navigate().forward();
+        ElementCache.invalidate(driver());
         log.info("Navigated forward");
     }
     
     public String getCurrentUrl() {
-        String url = driver.getCurrentUrl();
+        String url = driver().getCurrentUrl();
         log.debug("Current URL: {}", url);
         return url;
     }
     
     public String getTitle() {
-        String title = driver.getTitle();
+        String title = driver().getTitle();
         log.debug("Page title: {}", title);
         return title;
     }
@@ -66,13 +154,15 @@ public class WebActions {
     // ========== JavaScript Execution ==========
     
     public Object executeScript(String script, Object... args) {
-        Object result = jsExecutor.executeScript(script, args);
+        Object result = jsExecutor().executeScript(script, args);
+        ElementCache.invalidate(driver());
         log.debug("Executed JavaScript: {}", script);
         return result;
     }
     
     public Object executeAsyncScript(String script, Object... args) {
-        Object result = jsExecutor.executeAsyncScript(script, args);
+        Object result = jsExecutor().executeAsyncScript(script, args);
+        ElementCache.invalidate(driver());
         log.debug("Executed async JavaScript: {}", script);
         return result;
     }
@@ -106,7 +196,7 @@ public class WebActions {
     // ========== Alerts ==========
     
     public Alert getAlert(Duration timeout) {
-        WebDriverWait wait = new WebDriverWait(driver, timeout);
+        WebDriverWait wait = new WebDriverWait(driver(), Deadline.remaining(timeout));
         return wait.until(ExpectedConditions.alertIsPresent());
     }
     
@@ -138,25 +228,27 @@ public class WebActions {
     // ========== Windows and Tabs ==========
     
     public String getWindowHandle() {
-        return driver.getWindowHandle();
+        return driver().getWindowHandle();
     }
     
     public Set<String> getWindowHandles() {
-        return driver.getWindowHandles();
+        return BrowserContextManager.windowHandles(driver());
     }
     
     public void switchToWindow(String windowHandle) {
-        driver.switchTo().window(windowHandle);
+        driver().switchTo().window(windowHandle);
+        ElementCache.invalidate(driver());
         log.info("Switched to window: {}", windowHandle);
     }
     
     public void switchToNewWindow() {
-        String originalWindow = driver.getWindowHandle();
-        Set<String> allWindows = driver.getWindowHandles();
+        String originalWindow = driver().getWindowHandle();
+        Set<String> allWindows = BrowserContextManager.windowHandles(driver());
         
         for (String window : allWindows) {
             if (!window.equals(originalWindow)) {
-                driver.switchTo().window(window);
+                driver().switchTo().window(window);
+                ElementCache.invalidate(driver());
                 log.info("Switched to new window");
                 break;
             }
@@ -164,15 +256,17 @@ public class WebActions {
     }
     
     public void closeCurrentWindow() {
-        driver.close();
+        driver().close();
+        ElementCache.invalidate(driver());
         log.info("Closed current window");
     }
     
     public void switchToWindowByTitle(String title) {
-        Set<String> windows = driver.getWindowHandles();
+        ElementCache.invalidate(driver());
+        Set<String> windows = BrowserContextManager.windowHandles(driver());
         for (String window : windows) {
-            driver.switchTo().window(window);
-            if (driver.getTitle().equals(title)) {
+            driver().switchTo().window(window);
+            if (driver().getTitle().equals(title)) {
                 log.info("Switched to window with title: {}", title);
                 return;
             }
@@ -188,70 +282,75 @@ public class WebActions {
     // ========== Frames ==========
     
     public void switchToFrame(int index) {
-        driver.switchTo().frame(index);
+        driver().switchTo().frame(index);
+        ElementCache.invalidate(driver());
         log.info("Switched to frame by index: {}", index);
     }
     
     public void switchToFrame(String nameOrId) {
-        driver.switchTo().frame(nameOrId);
+        driver().switchTo().frame(nameOrId);
+        ElementCache.invalidate(driver());
         log.info("Switched to frame: {}", nameOrId);
     }
     
     public void switchToFrame(WebElement frameElement) {
-        driver.switchTo().frame(frameElement);
+        driver().switchTo().frame(frameElement);
+        ElementCache.invalidate(driver());
         log.info("Switched to frame element");
     }
     
     public void switchToDefaultContent() {
-        driver.switchTo().defaultContent();
+        driver().switchTo().defaultContent();
+        ElementCache.invalidate(driver());
         log.info("Switched to default content");
     }
     
     public void switchToParentFrame() {
-        driver.switchTo().parentFrame();
+        driver().switchTo().parentFrame();
+        ElementCache.invalidate(driver());
         log.info("Switched to parent frame");
     }
     
     // ========== Cookies ==========
     
     public void addCookie(Cookie cookie) {
-        driver.manage().addCookie(cookie);
+        driver().manage().addCookie(cookie);
         log.info("Added cookie: {}", cookie.getName());
     }
     
     public Cookie getCookie(String name) {
-        Cookie cookie = driver.manage().getCookieNamed(name);
+        Cookie cookie = driver().manage().getCookieNamed(name);
         log.debug("Retrieved cookie: {}", name);
         return cookie;
     }
     
     public Set<Cookie> getAllCookies() {
-        Set<Cookie> cookies = driver.manage().getCookies();
+        Set<Cookie> cookies = driver().manage().getCookies();
         log.debug("Retrieved all cookies, count: {}", cookies.size());
         return cookies;
     }
     
     public void deleteCookie(String name) {
-        driver.manage().deleteCookieNamed(name);
+        driver().manage().deleteCookieNamed(name);
         log.info("Deleted cookie: {}", name);
     }
     
     public void deleteAllCookies() {
-        driver.manage().deleteAllCookies();
+        driver().manage().deleteAllCookies();
         log.info("Deleted all cookies");
     }
     
     // ========== Screenshots ==========
     
     public byte[] takeScreenshot() {
-        TakesScreenshot screenshot = (TakesScreenshot) driver;
+        TakesScreenshot screenshot = (TakesScreenshot) driver();
         byte[] bytes = screenshot.getScreenshotAs(OutputType.BYTES);
         log.info("Screenshot captured");
         return bytes;
     }
     
     public String takeScreenshotAsBase64() {
-        TakesScreenshot screenshot = (TakesScreenshot) driver;
+        TakesScreenshot screenshot = (TakesScreenshot) driver();
         String base64 = screenshot.getScreenshotAs(OutputType.BASE64);
         log.info("Screenshot captured as Base64");
         return base64;
@@ -260,65 +359,115 @@ public class WebActions {
     // ========== Mouse Actions ==========
     
     public void dragAndDrop(WebElement source, WebElement target) {
-        actions.dragAndDrop(source, target).perform();
+        actions().dragAndDrop(source, target).perform();
+        ElementCache.invalidate(driver());
         log.info("Performed drag and drop");
     }
     
     public void dragAndDropBy(WebElement source, int xOffset, int yOffset) {
-        actions.dragAndDropBy(source, xOffset, yOffset).perform();
+        actions().dragAndDropBy(source, xOffset, yOffset).perform();
+        ElementCache.invalidate(driver());
         log.info("Performed drag and drop by offset x:{}, y:{}", xOffset, yOffset);
     }
     
     public void moveToElement(WebElement element) {
-        actions.moveToElement(element).perform();
+        actions().moveToElement(element).perform();
         log.info("Moved to element");
     }
     
     public void moveToElementWithOffset(WebElement element, int xOffset, int yOffset) {
-        actions.moveToElement(element, xOffset, yOffset).perform();
+        actions().moveToElement(element, xOffset, yOffset).perform();
         log.info("Moved to element with offset x:{}, y:{}", xOffset, yOffset);
     }
     
     // ========== Keyboard Actions ==========
     
     public void pressKey(Keys key) {
-        actions.sendKeys(key).perform();
+        actions().sendKeys(key).perform();
+        ElementCache.invalidate(driver());
         log.info("Pressed key: {}", key);
     }
     
     public void pressKeys(CharSequence... keys) {
-        actions.sendKeys(keys).perform();
+        actions().sendKeys(keys).perform();
+        ElementCache.invalidate(driver());
         log.info("Pressed multiple keys");
     }
     
     public void keyDown(Keys key) {
-        actions.keyDown(key).perform();
+        actions().keyDown(key).perform();
         log.info("Key down: {}", key);
     }
     
     public void keyUp(Keys key) {
-        actions.keyUp(key).perform();
+        actions().keyUp(key).perform();
         log.info("Key up: {}", key);
     }
     
+    // ========== Page Clock ==========
+    
+    /**
+     * Take control of page timers and Date; call before navigating to the page under test
+     */
+    public void installClock() {
+        PageClock.install();
+        log.info("Page clock installed");
+    }
+    
+    public void advanceTime(Duration duration) {
+        int fired = PageClock.advance(duration);
+        log.info("Advanced page time by {} ms ({} timer(s) fired)", duration.toMillis(), fired);
+    }
+    
+    public void runUntilIdle() {
+        int fired = PageClock.runUntilIdle();
+        log.info("Ran page timers until idle ({} timer(s) fired)", fired);
+    }
+    
     // ========== Wait Utilities ==========
     
     public void waitForPageLoad(Duration timeout) {
-        WebDriverWait wait = new WebDriverWait(driver, timeout);
+        WebDriverWait wait = new WebDriverWait(driver(), Deadline.remaining(timeout));
         wait.until(webDriver -> 
-            jsExecutor.executeScript("return document.readyState").equals("complete")
+            jsExecutor().executeScript("return document.readyState").equals("complete")
         );
         log.info("Page loaded completely");
     }
     
     public void waitForAjax(Duration timeout) {
-        WebDriverWait wait = new WebDriverWait(driver, timeout);
-        wait.until(webDriver -> 
-            (Boolean) jsExecutor.executeScript("return jQuery.active == 0")
-        );
+        PageReadiness.waitForNetworkIdle(Duration.ofMillis(config.getNetworkQuietPeriod()), 0, Deadline.remaining(timeout));
         log.info("AJAX requests completed");
     }
     
+    /**
+     * Wait for fetch/XHR traffic to settle. Without CDP, requests the page started before the
+     * first framework call on the document are not counted (see PageReadiness).
+     */
+    public void waitForNetworkIdle(Duration quietPeriod, int maxInflight) {
+        PageReadiness.waitForNetworkIdle(quietPeriod, maxInflight,
+                Deadline.remaining(Duration.ofSeconds(config.getPageLoadTimeout())));
+        log.info("Network idle ({} ms quiet, <= {} in flight)", quietPeriod.toMillis(), maxInflight);
+    }
+    
+    public void waitForNetworkIdle() {
+        waitForNetworkIdle(Duration.ofMillis(config.getNetworkQuietPeriod()), 0);
+    }
+    
+    public void waitForStableDom(Duration quietPeriod) {
+        PageReadiness.waitForStableDom(quietPeriod, Deadline.remaining(Duration.ofSeconds(config.getPageLoadTimeout())));
+        log.info("DOM stable for {} ms", quietPeriod.toMillis());
+    }
+    
+    public void waitForStableDom() {
+        waitForStableDom(Duration.ofMillis(config.getDomQuietPeriod()));
+    }
+    
+    /**
+     * Sleep for a fixed time.
+     * @deprecated wait for the actual condition instead: an Element wait, waitForNetworkIdle or waitForStableDom,
+     * or skip page timers with advanceTime / runUntilIdle
+     */
+    @Deprecated
     public void hardWait(long milliseconds) {
         try {
             Thread.sleep(milliseconds);
@@ -0,0 +1,167 @@
+package com.automation.core.browser;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Context-per-test isolation for Chrome.
+ * A single headless host Chrome is started per JVM. Each test gets its own
+ * CDP browser context (separate cookies, storage and cache) with one page target,
+ * and a WebDriver session attached to that target. Disposing the context at
+ * test end throws away all of its state in milliseconds.
+ * An attached session still lists the pages of every context in getWindowHandles();
+ * use {@link #windowHandles(WebDriver)} to see only the pages of its own context.
+ */
+@Slf4j
+public class BrowserContextManager {
+    
+    private static final Map<WebDriver, String> contextIds = new ConcurrentHashMap<>();
+    private static ChromeDriver hostBrowser;
+    private static String debuggerAddress;
+    
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(BrowserContextManager::shutdown, "browser-context-shutdown"));
+    }
+    
+    /**
+     * Create a new isolated browser context and return a driver bound to its page
+     */
+    public static WebDriver acquire() {
+        ChromeDriver host = hostBrowser();
+        
+        String contextId;
+        String targetId;
+        synchronized (BrowserContextManager.class) {
+            contextId = (String) host.executeCdpCommand("Target.createBrowserContext",
+                    Map.of("disposeOnDetach", false)).get("browserContextId");
+            targetId = (String) host.executeCdpCommand("Target.createTarget",
+                    Map.of("url", "about:blank", "browserContextId", contextId)).get("targetId");
+        }
+        
+        WebDriver driver;
+        try {
+            driver = DriverFactory.attachToBrowser(debuggerAddress, targetId);
+        } catch (RuntimeException e) {
+            disposeContext(contextId);
+            throw e;
+        }
+        
+        contextIds.put(driver, contextId);
+        log.info("Created browser context {} for thread: {}", contextId, Thread.currentThread().getId());
+        return driver;
+    }
+    
+    /**
+     * Dispose the driver's browser context and detach its session
+     */
+    public static void release(WebDriver driver) {
+        String contextId = contextIds.remove(driver);
+        try {
+            // An attached session only detaches on quit, it does not close the host browser
+            driver.quit();
+        } catch (Exception e) {
+            log.error("Error detaching context session: {}", e.getMessage());
+        }
+        if (contextId != null) {
+            disposeContext(contextId);
+        }
+    }
+    
+    /**
+     * Dispose the context of a session abandoned by a hung test without waiting on its session,
+     * which closes its page and fails the hung thread's pending commands
+     */
+    static void abandon(WebDriver driver) {
+        String contextId = contextIds.remove(driver);
+        if (contextId != null) {
+            disposeContext(contextId);
+        }
+    }
+    
+    /**
+     * Window handles of the pages in the driver's own browser context. Chromedriver uses the
+     * target id as the window handle, so the handles are filtered by the targets' context.
+     * Drivers that are not context sessions get all their handles.
+     */
+    public static Set<String> windowHandles(WebDriver driver) {
+        Set<String> handles = driver.getWindowHandles();
+        String contextId = contextIds.get(driver);
+        if (contextId == null) {
+            return handles;
+        }
+        Set<String> ownTargets = new HashSet<>();
+        synchronized (BrowserContextManager.class) {
+            if (hostBrowser == null) {
+                return handles;
+            }
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> targets =
+                    (List<Map<String, Object>>) hostBrowser.executeCdpCommand("Target.getTargets", Map.of()).get("targetInfos");
+            for (Map<String, Object> target : targets) {
+                if (contextId.equals(target.get("browserContextId"))) {
+                    ownTargets.add((String) target.get("targetId"));
+                }
+            }
+        }
+        Set<String> own = new LinkedHashSet<>(handles);
+        own.retainAll(ownTargets);
+        return own;
+    }
+    
+    /**
+     * Dispose all contexts and quit the host browser
+     */
+    public static synchronized void shutdown() {
+        contextIds.keySet().forEach(BrowserContextManager::release);
+        if (hostBrowser != null) {
+            try {
+                hostBrowser.quit();
+                log.info("Host browser for context isolation stopped");
+            } catch (Exception e) {
+                log.error("Error quitting host browser: {}", e.getMessage());
+            } finally {
+                hostBrowser = null;
+                debuggerAddress = null;
+            }
+        }
+    }
+    
+    private static synchronized ChromeDriver hostBrowser() {
+        if (hostBrowser == null) {
+            DriverBinaryResolver.resolve("chrome");
+            ChromeOptions options = DriverFactory.chromeOptions();
+            options.addArguments("--headless=new");
+            hostBrowser = new ChromeDriver(options);
+            
+            @SuppressWarnings("unchecked")
+            Map<String, Object> chromeCaps =
+                    (Map<String, Object>) hostBrowser.getCapabilities().getCapability("goog:chromeOptions");
+            debuggerAddress = (String) chromeCaps.get("debuggerAddress");
+            log.info("Host browser for context isolation started at {}", debuggerAddress);
+        }
+        return hostBrowser;
+    }
+    
+    private static void disposeContext(String contextId) {
+        try {
+            synchronized (BrowserContextManager.class) {
+                if (hostBrowser != null) {
+                    hostBrowser.executeCdpCommand("Target.disposeBrowserContext",
+                            Map.of("browserContextId", contextId));
+                }
+            }
+            log.debug("Disposed browser context {}", contextId);
+        } catch (Exception e) {
+            log.error("Error disposing browser context {}: {}", contextId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.automation.core.browser;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.utils.ProcessUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples RSS and CPU of every live browser (and its driver process) from /proc
+ * on a single low-priority background thread. Sessions that exceed the configured
+ * limits are flagged and recycled by DriverManager at the next test boundary.
+ */
+@Slf4j
+public class BrowserProcessMonitor {
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final long MB = 1024L * 1024L;
+    private static final double CLOCK_TICKS_PER_SECOND = 100.0;
+    private static final int CPU_BREACHES_BEFORE_RECYCLE = 3;
+    
+    private static final Map<WebDriver, SessionStats> sessions = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService scheduler;
+    
+    /**
+     * Check if monitoring is enabled and supported on this platform
+     */
+    public static boolean isEnabled() {
+        return config.isBrowserMonitorEnabled() && ProcessUtil.isSupported();
+    }
+    
+    /**
+     * Start monitoring a session. Calling it again for a known session keeps its stats.
+     */
+    public static void register(WebDriver driver) {
+        if (!isEnabled() || sessions.containsKey(driver)) {
+            return;
+        }
+        Optional<Long> browserPid = BrowserProcesses.browserPid(driver);
+        if (browserPid.isEmpty()) {
+            log.debug("Browser PID not found, session will not be monitored");
+            return;
+        }
+        long driverPid = BrowserProcesses.driverPid(browserPid.get()).orElse(-1L);
+        sessions.put(driver, new SessionStats(browserPid.get(), driverPid));
+        ensureStarted();
+        log.debug("Monitoring browser pid {} (driver pid {})", browserPid.get(), driverPid);
+    }
+    
+    /**
+     * Stop monitoring a session
+     */
+    public static void unregister(WebDriver driver) {
+        sessions.remove(driver);
+    }
+    
+    /**
+     * Check if a session has exceeded its resource limits and should be recycled
+     */
+    public static boolean shouldRecycle(WebDriver driver) {
+        SessionStats stats = sessions.get(driver);
+        return stats != null && stats.recycle;
+    }
+    
+    /**
+     * Human readable resource summary for a session, or empty if it is not monitored
+     */
+    public static Optional<String> describe(WebDriver driver) {
+        SessionStats stats = sessions.get(driver);
+        if (stats == null) {
+            return Optional.empty();
+        }
+        return Optional.of(String.format(
+                "Browser pid %d: RSS %d MB (peak %d MB), CPU %.0f%% (peak %.0f%%), driver RSS %d MB%s",
+                stats.browserPid, stats.rss / MB, stats.peakRss / MB, stats.cpuPercent, stats.peakCpuPercent,
+                Math.max(0, stats.driverRss) / MB, stats.recycle ? ", marked for recycling" : ""));
+    }
+    
+    /**
+     * Stop the sampling thread
+     */
+    public static synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        sessions.clear();
+    }
+    
+    private static synchronized void ensureStarted() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "browser-process-monitor");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+            long interval = config.getBrowserMonitorInterval();
+            scheduler.scheduleWithFixedDelay(BrowserProcessMonitor::sampleAll, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+    
+    private static void sampleAll() {
+        sessions.forEach((driver, stats) -> {
+            try {
+                if (ProcessHandle.of(stats.browserPid).map(ProcessHandle::isAlive).orElse(false)) {
+                    sample(stats);
+                } else {
+                    sessions.remove(driver);
+                }
+            } catch (Exception e) {
+                log.debug("Failed to sample browser pid {}: {}", stats.browserPid, e.getMessage());
+            }
+        });
+    }
+    
+    private static void sample(SessionStats stats) {
+        long now = System.nanoTime();
+        long ticks = ProcessUtil.treeCpuTicks(stats.browserPid);
+        if (stats.lastSampleNanos > 0) {
+            double seconds = (now - stats.lastSampleNanos) / 1e9;
+            stats.cpuPercent = (ticks - stats.lastCpuTicks) / CLOCK_TICKS_PER_SECOND / seconds * 100;
+            stats.peakCpuPercent = Math.max(stats.peakCpuPercent, stats.cpuPercent);
+        }
+        stats.lastSampleNanos = now;
+        stats.lastCpuTicks = ticks;
+        
+        stats.rss = ProcessUtil.treeRssBytes(stats.browserPid);
+        stats.peakRss = Math.max(stats.peakRss, stats.rss);
+        if (stats.driverPid > 0) {
+            stats.driverRss = ProcessUtil.rssBytes(stats.driverPid);
+        }
+        
+        long maxRssMb = config.getBrowserMonitorMaxRssMb();
+        int maxCpu = config.getBrowserMonitorMaxCpu();
+        stats.cpuBreaches = maxCpu > 0 && stats.cpuPercent > maxCpu ? stats.cpuBreaches + 1 : 0;
+        
+        if (!stats.recycle && maxRssMb > 0 && stats.rss > maxRssMb * MB) {
+            stats.recycle = true;
+            log.warn("Browser pid {} RSS {} MB exceeds {} MB, recycling at next test boundary",
+                    stats.browserPid, stats.rss / MB, maxRssMb);
+        } else if (!stats.recycle && stats.cpuBreaches >= CPU_BREACHES_BEFORE_RECYCLE) {
+            stats.recycle = true;
+            log.warn("Browser pid {} CPU above {}% for {} samples, recycling at next test boundary",
+                    stats.browserPid, maxCpu, stats.cpuBreaches);
+        }
+    }
+    
+    private static final class SessionStats {
+        private final long browserPid;
+        private final long driverPid;
+        private volatile long rss;
+        private volatile long peakRss;
+        private volatile long driverRss = -1;
+        private volatile double cpuPercent;
+        private volatile double peakCpuPercent;
+        private volatile boolean recycle;
+        private long lastCpuTicks;
+        private long lastSampleNanos;
+        private int cpuBreaches;
+        
+        private SessionStats(long browserPid, long driverPid) {
+            this.browserPid = browserPid;
+            this.driverPid = driverPid;
+        }
+    }
+}
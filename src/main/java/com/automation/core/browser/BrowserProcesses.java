@@ -0,0 +1,70 @@
+package com.automation.core.browser;
+
+import com.automation.core.utils.ProcessUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maps live WebDriver sessions to the operating system processes behind them (Linux only).
+ * Firefox reports its PID in the capabilities; Chromium browsers are located through
+ * the user data directory on their command line.
+ */
+@Slf4j
+class BrowserProcesses {
+    
+    /**
+     * PID of the main browser process for a session, if it can be determined
+     */
+    static Optional<Long> browserPid(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities) || !ProcessUtil.isSupported()) {
+            return Optional.empty();
+        }
+        Capabilities caps = ((HasCapabilities) driver).getCapabilities();
+        
+        Object firefoxPid = caps.getCapability("moz:processID");
+        if (firefoxPid instanceof Number number) {
+            return Optional.of(number.longValue());
+        }
+        
+        String userDataDir = userDataDir(caps);
+        if (userDataDir == null) {
+            return Optional.empty();
+        }
+        // The main browser process is the one without a --type= (renderer, gpu, utility...) argument
+        return ProcessUtil.findPidsByArgument("--user-data-dir=" + userDataDir).stream()
+                .filter(pid -> !ProcessUtil.cmdline(pid).contains("--type="))
+                .findFirst();
+    }
+    
+    /**
+     * PID of the driver process (chromedriver, geckodriver...) that launched the browser
+     */
+    static Optional<Long> driverPid(long browserPid) {
+        return ProcessHandle.of(browserPid)
+                .flatMap(ProcessHandle::parent)
+                .map(ProcessHandle::pid);
+    }
+    
+    /**
+     * Combined RSS of the browser process tree for a session in bytes, or -1 if unknown
+     */
+    static long browserRssBytes(WebDriver driver) {
+        return browserPid(driver).map(ProcessUtil::treeRssBytes).orElse(-1L);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static String userDataDir(Capabilities caps) {
+        for (String key : new String[]{"chrome", "msedge"}) {
+            Object value = caps.getCapability(key);
+            if (value instanceof Map<?, ?> map && map.get("userDataDir") instanceof String dir) {
+                return dir;
+            }
+        }
+        return null;
+    }
+}
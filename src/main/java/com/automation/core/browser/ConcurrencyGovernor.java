@@ -0,0 +1,204 @@
+package com.automation.core.browser;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.utils.ProcessUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the number of live browsers in use at the same time.
+ * The bound is derived from CPU cores, memory available at startup (/proc/meminfo)
+ * and the observed RSS of the browser processes, unless driver.max.browsers is set.
+ * Callers of DriverManager.getDriver() wait in a fair (FIFO) queue for a slot.
+ * Browsers kept alive outside a test (idle pooled sessions, prefetched drivers) hold a
+ * detached slot that the next test thread adopts, so they count against the bound too.
+ */
+@Slf4j
+public class ConcurrencyGovernor {
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final long MB = 1024L * 1024L;
+    
+    private static final ResizableSemaphore slots = new ResizableSemaphore();
+    private static final Set<Thread> slotHolders = ConcurrentHashMap.newKeySet();
+    private static final long availableAtStartup = ProcessUtil.memAvailableBytes();
+    private static long estimatedBrowserRss = config.getGovernorBrowserMemoryMb() * MB;
+    private static int limit;
+    
+    static {
+        resize();
+    }
+    
+    /**
+     * Check if the governor is active
+     */
+    public static boolean isEnabled() {
+        return config.isGovernorEnabled();
+    }
+    
+    /**
+     * Wait for a free browser slot for the current thread. Does nothing if the
+     * governor is disabled or the thread already holds a slot.
+     */
+    public static void acquire() {
+        if (!isEnabled() || slotHolders.contains(Thread.currentThread())) {
+            return;
+        }
+        int waitSeconds = config.getGovernorWaitTimeout();
+        try {
+            if (slots.getQueueLength() > 0 || slots.availablePermits() == 0) {
+                log.info("Waiting for a browser slot (limit {}, queued {})", limit, slots.getQueueLength());
+            }
+            if (!slots.tryAcquire(waitSeconds, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("No browser slot became available within " + waitSeconds
+                        + " seconds (limit " + limit + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser slot", e);
+        }
+        slotHolders.add(Thread.currentThread());
+    }
+    
+    /**
+     * Release the current thread's browser slot, if it holds one
+     */
+    public static void release() {
+        releaseFor(Thread.currentThread());
+    }
+    
+    /**
+     * Release the browser slot held by another thread (e.g. a hung test)
+     */
+    static void releaseFor(Thread thread) {
+        if (slotHolders.remove(thread)) {
+            slots.release();
+        }
+    }
+    
+    /**
+     * Take a slot without waiting for a browser no test thread holds yet (a prefetched one).
+     * Returns false if no slot is free; always true when the governor is disabled.
+     */
+    static boolean tryAcquireDetached() {
+        return !isEnabled() || slots.tryAcquire();
+    }
+    
+    /**
+     * Hand the current thread's slot over to its browser, which stays alive after the test
+     * (an idle pooled session). Returns false if the thread held no slot.
+     */
+    static boolean detach() {
+        return slotHolders.remove(Thread.currentThread());
+    }
+    
+    /**
+     * Give the current thread the slot of a detached browser it takes over
+     */
+    static void adopt() {
+        if (isEnabled() && !slotHolders.add(Thread.currentThread())) {
+            slots.release();
+        }
+    }
+    
+    /**
+     * Free the slot of a detached browser that is quit
+     */
+    static void releaseDetached() {
+        if (isEnabled()) {
+            slots.release();
+        }
+    }
+    
+    /**
+     * Check if a slot is free right now
+     */
+    static boolean hasFreeSlot() {
+        return !isEnabled() || slots.availablePermits() > 0;
+    }
+    
+    /**
+     * Feed the RSS of a browser at the end of its test into the per-browser memory estimate
+     */
+    public static void observe(WebDriver driver) {
+        if (!isEnabled()) {
+            return;
+        }
+        long rss = BrowserProcesses.browserRssBytes(driver);
+        if (rss <= 0) {
+            return;
+        }
+        synchronized (ConcurrencyGovernor.class) {
+            estimatedBrowserRss = (estimatedBrowserRss * 3 + rss) / 4;
+        }
+        log.debug("Observed browser RSS {} MB, estimate now {} MB", rss / MB, estimatedBrowserRss / MB);
+        resize();
+    }
+    
+    /**
+     * Current maximum number of concurrent browsers
+     */
+    public static int getLimit() {
+        return limit;
+    }
+    
+    /**
+     * Number of threads waiting for a browser slot
+     */
+    public static int getQueueLength() {
+        return slots.getQueueLength();
+    }
+    
+    private static synchronized void resize() {
+        int target = computeLimit();
+        int delta = target - limit;
+        if (delta > 0) {
+            slots.release(delta);
+        } else if (delta < 0) {
+            slots.reducePermits(-delta);
+        }
+        if (delta != 0) {
+            log.info("Browser concurrency limit set to {}", target);
+        }
+        limit = target;
+    }
+    
+    private static int computeLimit() {
+        int configured = config.getMaxBrowsers();
+        if (configured > 0) {
+            return configured;
+        }
+        
+        int cores = Runtime.getRuntime().availableProcessors();
+        int cpuBound = Math.max(1, (int) Math.floor(cores * config.getGovernorSessionsPerCore()));
+        if (availableAtStartup <= 0) {
+            return cpuBound;
+        }
+        
+        long usable = availableAtStartup - config.getGovernorMemoryReserveMb() * MB;
+        int memoryBound = (int) Math.max(1, usable / Math.max(MB, estimatedBrowserRss));
+        return Math.min(cpuBound, memoryBound);
+    }
+    
+    /**
+     * Fair semaphore whose permit count can shrink as well as grow
+     */
+    private static final class ResizableSemaphore extends Semaphore {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private ResizableSemaphore() {
+            super(0, true);
+        }
+        
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.automation.core.browser;
+
+import com.automation.core.config.ConfigManager;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves driver binaries (chromedriver, geckodriver, msedgedriver) once per JVM.
+ * The resolved path is memoized per browser and shared by all threads.
+ * In offline mode the binary is taken from config, a local mirror directory or
+ * the PATH, and WebDriverManager is never called.
+ */
+@Slf4j
+public class DriverBinaryResolver {
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Map<String, String> resolvedPaths = new ConcurrentHashMap<>();
+    private static final boolean WINDOWS = System.getProperty("os.name", "").toLowerCase().contains("win");
+    
+    /**
+     * Resolve the driver binary for a browser and register it with Selenium.
+     * Only the first call per browser does any work.
+     */
+    public static String resolve(String browser) {
+        return resolvedPaths.computeIfAbsent(browser.toLowerCase(), DriverBinaryResolver::doResolve);
+    }
+    
+    private static String doResolve(String browser) {
+        String path = config.isDriverOfflineMode() ? resolveOffline(browser) : resolveOnline(browser);
+        System.setProperty(systemPropertyFor(browser), path);
+        log.info("Resolved {} driver binary: {}", browser, path);
+        return path;
+    }
+    
+    private static String resolveOnline(String browser) {
+        WebDriverManager manager = switch (browser) {
+            case "firefox" -> WebDriverManager.firefoxdriver();
+            case "edge" -> WebDriverManager.edgedriver();
+            default -> WebDriverManager.chromedriver();
+        };
+        manager.setup();
+        return manager.getDownloadedDriverPath();
+    }
+    
+    private static String resolveOffline(String browser) {
+        String executable = executableFor(browser);
+        
+        String configured = config.getDriverBinaryPath(browser);
+        if (!configured.isEmpty()) {
+            if (!isExecutable(Paths.get(configured))) {
+                throw new IllegalStateException("Configured " + browser + " driver is not executable: " + configured);
+            }
+            return configured;
+        }
+        
+        String mirrorDir = config.getDriverMirrorDir();
+        if (!mirrorDir.isEmpty()) {
+            Path candidate = Paths.get(mirrorDir, executable);
+            if (isExecutable(candidate)) {
+                return candidate.toString();
+            }
+            log.debug("{} not found in mirror directory {}", executable, mirrorDir);
+        }
+        
+        String pathEnv = System.getenv("PATH");
+        if (pathEnv != null) {
+            for (String dir : pathEnv.split(File.pathSeparator)) {
+                Path candidate = Paths.get(dir, executable);
+                if (isExecutable(candidate)) {
+                    return candidate.toString();
+                }
+            }
+        }
+        
+        throw new IllegalStateException("Offline mode: no " + executable
+                + " found in driver.path." + browser + ", driver.mirror.dir or PATH");
+    }
+    
+    private static boolean isExecutable(Path path) {
+        return Files.isRegularFile(path) && Files.isExecutable(path);
+    }
+    
+    private static String executableFor(String browser) {
+        String name = switch (browser) {
+            case "firefox" -> "geckodriver";
+            case "edge" -> "msedgedriver";
+            default -> "chromedriver";
+        };
+        return WINDOWS ? name + ".exe" : name;
+    }
+    
+    private static String systemPropertyFor(String browser) {
+        return switch (browser) {
+            case "firefox" -> "webdriver.gecko.driver";
+            case "edge" -> "webdriver.edge.driver";
+            default -> "webdriver.chrome.driver";
+        };
+    }
+}
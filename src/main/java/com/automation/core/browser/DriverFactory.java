@@ -1,8 +1,9 @@
 package com.automation.core.browser;
 
 import com.automation.core.config.ConfigManager;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -10,10 +11,14 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Factory class for creating WebDriver instances with proper configuration.
@@ -23,6 +28,7 @@ import java.time.Duration;
 public class DriverFactory {
     
     private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Map<WebDriver, String> firstPaintPending = Collections.synchronizedMap(new WeakHashMap<>());
     
     /**
      * Create a new WebDriver instance based on configuration
@@ -30,6 +36,7 @@ public class DriverFactory {
     public static WebDriver createDriver() {
         String browser = config.getBrowser().toLowerCase();
         log.info("Creating {} driver instance", browser);
+        long start = System.nanoTime();
         
         WebDriver driver = switch (browser) {
             case "chrome" -> createChromeDriver();
@@ -43,32 +50,134 @@ public class DriverFactory {
         };
         
         configureDriver(driver);
+        SessionWatchdog.track(driver);
+        
+        long startupMillis = (System.nanoTime() - start) / 1_000_000;
+        String mode = usesSharedService(browser) ? "shared-service" : "dedicated";
+        if (usesProfileTemplate(browser)) {
+            mode += "+template";
+        }
+        SessionMetrics.record("startup." + browser + "." + mode, startupMillis);
+        firstPaintPending.put(driver, browser + "." + mode);
+        log.info("{} session started in {} ms ({})", browser, startupMillis, mode);
         return driver;
     }
     
-    private static WebDriver createChromeDriver() {
-        WebDriverManager.chromedriver().setup();
+    /**
+     * Record first-contentful-paint of the first page a session navigates to,
+     * labelled with the session's startup mode. Later navigations are ignored.
+     */
+    public static void recordFirstNavigation(WebDriver driver) {
+        String label = firstPaintPending.remove(driver);
+        if (label == null || !(driver instanceof JavascriptExecutor js)) {
+            return;
+        }
+        try {
+            Object paint = js.executeScript(
+                    "var e = performance.getEntriesByName('first-contentful-paint')[0];" +
+                    "return e ? Math.round(e.startTime) : null;");
+            if (paint instanceof Number millis) {
+                SessionMetrics.record("first-paint." + label, millis.longValue());
+            }
+        } catch (Exception e) {
+            log.debug("Could not read first paint timing: {}", e.getMessage());
+        }
+    }
+    
+    private static boolean usesProfileTemplate(String browser) {
+        return browser.equals("chrome") && ProfileTemplate.isEnabled();
+    }
+    
+    /**
+     * Start the shared driver service for the configured browser, if enabled
+     */
+    public static void startSharedService() {
+        String browser = config.getBrowser().toLowerCase();
+        if (usesSharedService(browser)) {
+            DriverServiceRegistry.start(browser);
+        }
+    }
+    
+    private static boolean usesSharedService(String browser) {
+        return config.isSharedDriverService() && DriverServiceRegistry.supports(browser);
+    }
+    
+    /**
+     * Attach a new session to a page target of an already running Chrome (used for context isolation).
+     * The session shares the browser process and detaches on quit. It is switched to its own target
+     * before any configuration, since chromedriver attaches to an arbitrary page first and that page
+     * may belong to another test's context.
+     */
+    public static WebDriver attachToBrowser(String debuggerAddress, String targetId) {
+        long start = System.nanoTime();
+        DriverBinaryResolver.resolve("chrome");
         ChromeOptions options = new ChromeOptions();
+        options.setExperimentalOption("debuggerAddress", debuggerAddress);
+        options.setPageLoadStrategy(pageLoadStrategy());
+        
+        WebDriver driver = usesSharedService("chrome")
+                ? DriverServiceRegistry.newSession("chrome", options)
+                : new ChromeDriver(options);
+        try {
+            driver.switchTo().window(targetId);
+        } catch (RuntimeException e) {
+            driver.quit();
+            throw e;
+        }
+        configureDriver(driver);
+        
+        long startupMillis = (System.nanoTime() - start) / 1_000_000;
+        SessionMetrics.record("startup.chrome.context", startupMillis);
+        log.info("chrome context session attached in {} ms", startupMillis);
+        return driver;
+    }
+    
+    private static WebDriver createChromeDriver() {
+        DriverBinaryResolver.resolve("chrome");
+        ChromeOptions options = chromeOptions();
         
         if (config.isHeadless()) {
             options.addArguments("--headless=new");
         }
         
-        // Common Chrome options for stability
+        if (ProfileTemplate.isEnabled()) {
+            options.addArguments("--user-data-dir=" + ProfileTemplate.cloneForSession());
+        }
+        
+        if (usesSharedService("chrome")) {
+            return DriverServiceRegistry.newSession("chrome", options);
+        }
+        return new ChromeDriver(options);
+    }
+    
+    /**
+     * Common Chrome options for stability
+     */
+    static ChromeOptions chromeOptions() {
+        ChromeOptions options = new ChromeOptions();
         options.addArguments("--disable-gpu");
         options.addArguments("--no-sandbox");
         options.addArguments("--disable-dev-shm-usage");
         options.addArguments("--disable-blink-features=AutomationControlled");
         options.addArguments("--disable-extensions");
         options.addArguments("--remote-allow-origins=*");
+        options.addArguments(SessionWatchdog.markerArgument());
         options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
         options.setExperimentalOption("useAutomationExtension", false);
-        
-        return new ChromeDriver(options);
+        options.setPageLoadStrategy(pageLoadStrategy());
+        return options;
+    }
+    
+    /**
+     * Page load strategy for new sessions (browser.page.load.strategy: normal, eager or none)
+     */
+    public static PageLoadStrategy pageLoadStrategy() {
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(config.getPageLoadStrategy());
+        return strategy != null ? strategy : PageLoadStrategy.NORMAL;
     }
     
     private static WebDriver createFirefoxDriver() {
-        WebDriverManager.firefoxdriver().setup();
+        DriverBinaryResolver.resolve("firefox");
         FirefoxOptions options = new FirefoxOptions();
         
         if (config.isHeadless()) {
@@ -78,12 +187,18 @@ public class DriverFactory {
         options.addArguments("--disable-gpu");
         options.addPreference("dom.webdriver.enabled", false);
         options.addPreference("useAutomationExtension", false);
+        options.setPageLoadStrategy(pageLoadStrategy());
+        FastRender.configure(options);
         
-        return new FirefoxDriver(options);
+        // Firefox takes no marker argument; geckodriver passes its environment on to the browser
+        GeckoDriverService service = new GeckoDriverService.Builder()
+                .withEnvironment(SessionWatchdog.markerEnvironment())
+                .build();
+        return new FirefoxDriver(service, options);
     }
     
     private static WebDriver createEdgeDriver() {
-        WebDriverManager.edgedriver().setup();
+        DriverBinaryResolver.resolve("edge");
         EdgeOptions options = new EdgeOptions();
         
         if (config.isHeadless()) {
@@ -93,14 +208,20 @@ public class DriverFactory {
         options.addArguments("--disable-gpu");
         options.addArguments("--no-sandbox");
         options.addArguments("--disable-dev-shm-usage");
+        options.addArguments(SessionWatchdog.markerArgument());
         options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
+        options.setPageLoadStrategy(pageLoadStrategy());
         
+        if (usesSharedService("edge")) {
+            return DriverServiceRegistry.newSession("edge", options);
+        }
         return new EdgeDriver(options);
     }
     
     private static WebDriver createSafariDriver() {
         SafariOptions options = new SafariOptions();
         options.setAutomaticInspection(false);
+        options.setPageLoadStrategy(pageLoadStrategy());
         
         return new SafariDriver(options);
     }
@@ -109,9 +230,9 @@ public class DriverFactory {
      * Configure driver with timeouts and window settings
      */
     private static void configureDriver(WebDriver driver) {
-        // Set timeouts
+        // Set timeouts (framework wait mode owns all waiting, so the implicit wait is off)
         driver.manage().timeouts()
-                .implicitlyWait(Duration.ofSeconds(config.getImplicitTimeout()));
+                .implicitlyWait(config.isFrameworkWaitMode() ? Duration.ZERO : Duration.ofSeconds(config.getImplicitTimeout()));
         driver.manage().timeouts()
                 .pageLoadTimeout(Duration.ofSeconds(config.getPageLoadTimeout()));
         driver.manage().timeouts()
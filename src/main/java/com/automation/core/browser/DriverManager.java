@@ -1,8 +1,14 @@
 package com.automation.core.browser;
 
+import com.automation.core.actions.StorageState;
+import com.automation.core.config.ConfigManager;
+import com.automation.core.elements.PageClock;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.WebDriver;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Thread-safe WebDriver manager using ThreadLocal for parallel test execution.
  * Provides centralized driver lifecycle management.
@@ -10,15 +16,23 @@ import org.openqa.selenium.WebDriver;
 @Slf4j
 public class DriverManager {
     
+    private static final ConfigManager config = ConfigManager.getInstance();
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> browserAllowed = ThreadLocal.withInitial(() -> true);
+    private static final Map<Thread, WebDriver> driversByThread = new ConcurrentHashMap<>();
     
     /**
-     * Get the WebDriver instance for the current thread
+     * Get the WebDriver instance for the current thread.
+     * The driver is created lazily on the first call.
      */
     public static WebDriver getDriver() {
         if (driverThreadLocal.get() == null) {
+            if (!browserAllowed.get()) {
+                throw new IllegalStateException(
+                        "A WebDriver was requested by a test that is declared as not needing a browser");
+            }
             log.debug("No driver found for current thread. Creating new driver.");
-            setDriver(DriverFactory.createDriver());
+            setDriver(createDriver());
         }
         return driverThreadLocal.get();
     }
@@ -28,6 +42,7 @@ public class DriverManager {
      */
     public static void setDriver(WebDriver driver) {
         driverThreadLocal.set(driver);
+        driversByThread.put(Thread.currentThread(), driver);
         log.debug("Driver set for thread: {}", Thread.currentThread().getId());
     }
     
@@ -38,16 +53,148 @@ public class DriverManager {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
             try {
+                BrowserProcessMonitor.unregister(driver);
+                SessionWatchdog.untrack(driver);
                 driver.quit();
                 log.info("Driver quit successfully for thread: {}", Thread.currentThread().getId());
             } catch (Exception e) {
                 log.error("Error quitting driver: {}", e.getMessage());
             } finally {
-                driverThreadLocal.remove();
+                clearThreadDriver();
+            }
+        }
+    }
+    
+    /**
+     * Release the driver at the end of a test according to the isolation mode:
+     * dispose its browser context, return it to the pool, or quit it.
+     */
+    public static void releaseDriver() {
+        WebDriver driver = driverThreadLocal.get();
+        if (driver == null) {
+            return;
+        }
+        ConcurrencyGovernor.observe(driver);
+        PageClock.uninstall(driver);
+        StorageState.discardSeed(driver);
+        if (!usesContextIsolation() && !usesPool()) {
+            quitDriver();
+            return;
+        }
+        try {
+            if (usesContextIsolation()) {
+                BrowserProcessMonitor.unregister(driver);
+                BrowserContextManager.release(driver);
+                log.info("Browser context released for thread: {}", Thread.currentThread().getId());
+            } else if (BrowserProcessMonitor.shouldRecycle(driver)) {
+                BrowserProcessMonitor.unregister(driver);
+                DriverPool.discard(driver);
+                log.info("Driver exceeded resource limits and was recycled for thread: {}",
+                        Thread.currentThread().getId());
+            } else {
+                DriverPool.release(driver);
+                log.info("Driver released to pool for thread: {}", Thread.currentThread().getId());
             }
+        } finally {
+            clearThreadDriver();
         }
     }
     
+    /**
+     * Declare whether the current thread's test may create a browser
+     */
+    public static void setBrowserAllowed(boolean allowed) {
+        browserAllowed.set(allowed);
+    }
+    
+    /**
+     * Check if the current thread's test may create a browser
+     */
+    public static boolean isBrowserAllowed() {
+        return browserAllowed.get();
+    }
+    
+    /**
+     * Detach the driver of another thread whose test hung, freeing its slot.
+     * Returns the abandoned driver, or null if the thread had none.
+     */
+    static WebDriver abandonDriver(Thread thread) {
+        WebDriver driver = driversByThread.remove(thread);
+        ConcurrencyGovernor.releaseFor(thread);
+        if (driver != null) {
+            BrowserProcessMonitor.unregister(driver);
+            DriverPool.forget(driver);
+            BrowserContextManager.abandon(driver);
+            log.warn("Driver abandoned for hung thread: {}", thread.getId());
+        }
+        return driver;
+    }
+    
+    private static void clearThreadDriver() {
+        driverThreadLocal.remove();
+        driversByThread.remove(Thread.currentThread());
+        ConcurrencyGovernor.release();
+    }
+    
+    private static WebDriver createDriver() {
+        boolean pooled = !usesContextIsolation() && usesPool();
+        boolean prefetched = !usesContextIsolation() && !pooled && usesPrefetch();
+        if (!pooled && !prefetched) {
+            // The pool and the prefetcher take the slot themselves: a ready browser hands over the slot it holds
+            ConcurrencyGovernor.acquire();
+        }
+        try {
+            WebDriver driver;
+            if (usesContextIsolation()) {
+                driver = BrowserContextManager.acquire();
+            } else if (pooled) {
+                driver = DriverPool.acquire();
+            } else if (prefetched) {
+                driver = DriverPrefetcher.take();
+            } else {
+                driver = DriverFactory.createDriver();
+            }
+            BrowserProcessMonitor.register(driver);
+            FastRender.apply(driver);
+            if (prefetched) {
+                DriverPrefetcher.prefetchNext();
+            }
+            return driver;
+        } catch (RuntimeException e) {
+            ConcurrencyGovernor.release();
+            throw e;
+        }
+    }
+    
+    /**
+     * Context isolation shares one Chrome process; other browsers fall back to a process per test
+     */
+    private static boolean usesContextIsolation() {
+        return config.getDriverIsolation().equalsIgnoreCase("context")
+                && config.getBrowser().equalsIgnoreCase("chrome");
+    }
+    
+    /**
+     * Pooled and prefetched sessions are created before their test is known, so they are
+     * skipped when fast render settings are fixed at session creation. Only browsers the
+     * pool can fully reset are pooled.
+     */
+    private static boolean usesPool() {
+        return config.isDriverPoolEnabled() && !FastRender.isFixedAtCreation()
+                && DriverPool.supports(config.getBrowser());
+    }
+    
+    private static boolean usesPrefetch() {
+        return DriverPrefetcher.isEnabled() && !FastRender.isFixedAtCreation();
+    }
+    
+    /**
+     * Number of drivers currently held by test threads
+     */
+    public static int getLiveDriverCount() {
+        return driversByThread.size();
+    }
+    
     /**
      * Check if driver exists for current thread
      */
@@ -0,0 +1,317 @@
+package com.automation.core.browser;
+
+import com.automation.core.config.ConfigManager;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Pool of warm WebDriver sessions, keyed by browser type.
+ * Sessions are reset between tests instead of being quit, so the next test
+ * skips browser startup. Broken, over-used or expired sessions are evicted.
+ * Only Chromium sessions (Chrome, Edge) are pooled, as only CDP can clear the
+ * storage of every origin a test touched. Idle sessions keep the governor slot
+ * of their last test, so they count against the live-browser limit.
+ */
+@Slf4j
+public class DriverPool {
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    
+    private static final Map<String, BlockingDeque<PooledSession>> idleSessions = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, PooledSession> leasedSessions = new ConcurrentHashMap<>();
+    
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+    
+    /**
+     * Borrow a healthy session for the configured browser, creating one if the pool is empty
+     */
+    public static WebDriver acquire() {
+        String browser = config.getBrowser().toLowerCase();
+        BlockingDeque<PooledSession> idle = idleFor(browser);
+        
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            if (isReusable(session) && isHealthy(session)) {
+                if (session.holdsSlot) {
+                    session.holdsSlot = false;
+                    ConcurrencyGovernor.adopt();
+                }
+                session.useCount++;
+                leasedSessions.put(session.driver, session);
+                log.debug("Reusing pooled {} session (use {})", browser, session.useCount);
+                return session.driver;
+            }
+            evict(session);
+        }
+        
+        evictIdleWhileGovernorFull();
+        ConcurrencyGovernor.acquire();
+        session = new PooledSession(DriverFactory.createDriver(), browser);
+        session.useCount++;
+        leasedSessions.put(session.driver, session);
+        log.info("Created new pooled {} session", browser);
+        return session.driver;
+    }
+    
+    /**
+     * Return a session to the pool after resetting it. Sessions that cannot be
+     * reset, or that exceed the configured limits, are quit instead.
+     */
+    public static void release(WebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            log.warn("Releasing a driver that was not leased from the pool. Quitting it.");
+            quietQuit(driver);
+            return;
+        }
+        
+        if (!isReusable(session) || !reset(session)) {
+            evict(session);
+            return;
+        }
+        
+        BlockingDeque<PooledSession> idle = idleFor(session.browser);
+        session.holdsSlot = ConcurrencyGovernor.detach();
+        if (idle.size() >= config.getDriverPoolSize() || !idle.offerFirst(session)) {
+            log.debug("Pool for {} is full. Quitting surplus session.", session.browser);
+            evict(session);
+            return;
+        }
+        log.debug("Session returned to {} pool (idle: {})", session.browser, idle.size());
+    }
+    
+    /**
+     * Quit a leased session instead of returning it to the pool
+     */
+    public static void discard(WebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session != null) {
+            evict(session);
+        } else {
+            quietQuit(driver);
+        }
+    }
+    
+    /**
+     * Drop the lease of a session abandoned by a hung test; its processes are killed by the watchdog
+     */
+    static void forget(WebDriver driver) {
+        leasedSessions.remove(driver);
+    }
+    
+    /**
+     * Quit every idle and leased session
+     */
+    public static void shutdown() {
+        List<PooledSession> sessions = new ArrayList<>(leasedSessions.values());
+        leasedSessions.clear();
+        idleSessions.values().forEach(idle -> idle.drainTo(sessions));
+        
+        if (!sessions.isEmpty()) {
+            log.info("Shutting down driver pool ({} sessions)", sessions.size());
+        }
+        sessions.forEach(DriverPool::evict);
+    }
+    
+    /**
+     * Check if sessions of a browser can be pooled, i.e. fully reset over CDP
+     */
+    public static boolean supports(String browser) {
+        return browser.equalsIgnoreCase("chrome") || browser.equalsIgnoreCase("edge");
+    }
+    
+    /**
+     * Number of idle sessions currently held for a browser
+     */
+    public static int idleCount(String browser) {
+        BlockingDeque<PooledSession> idle = idleSessions.get(browser.toLowerCase());
+        return idle == null ? 0 : idle.size();
+    }
+    
+    /**
+     * Quit idle sessions (of other browsers, as this browser's are taken first) until the
+     * governor has a free slot, so a new session is not blocked by browsers nobody uses
+     */
+    private static void evictIdleWhileGovernorFull() {
+        for (BlockingDeque<PooledSession> idle : idleSessions.values()) {
+            PooledSession session;
+            while (!ConcurrencyGovernor.hasFreeSlot() && (session = idle.pollLast()) != null) {
+                log.debug("Quitting idle {} session to free a browser slot", session.browser);
+                evict(session);
+            }
+        }
+    }
+    
+    private static BlockingDeque<PooledSession> idleFor(String browser) {
+        return idleSessions.computeIfAbsent(browser, key -> new LinkedBlockingDeque<>());
+    }
+    
+    private static boolean isReusable(PooledSession session) {
+        if (session.useCount >= config.getDriverPoolMaxReuse()) {
+            log.debug("Session reached max reuse count ({})", session.useCount);
+            return false;
+        }
+        Duration age = Duration.between(session.createdAt, Instant.now());
+        if (age.getSeconds() >= config.getDriverPoolMaxAge()) {
+            log.debug("Session reached max age ({}s)", age.getSeconds());
+            return false;
+        }
+        return true;
+    }
+    
+    private static boolean isHealthy(PooledSession session) {
+        try {
+            session.driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            log.warn("Pooled session failed health check: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Bring a session back to a blank state: single window on about:blank, no cookies,
+     * no HTTP cache and no storage of any origin the session visited. Visited origins
+     * (with their ports) are taken from every tab's navigation history and frame tree,
+     * plus the domains of all cookies. Sessions without CDP cannot be reset this way.
+     */
+    private static boolean reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        if (!(driver instanceof HasCdp chromium)) {
+            log.debug("Session has no CDP access, it cannot be reset");
+            return false;
+        }
+        try {
+            Set<String> origins = new LinkedHashSet<>();
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            String keep = handles.get(0);
+            for (String handle : handles) {
+                driver.switchTo().window(handle);
+                collectOrigins(chromium, origins);
+                if (!handle.equals(keep)) {
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(keep);
+            driver.switchTo().defaultContent();
+            
+            clearOrigins(chromium, origins);
+            driver.get("about:blank");
+            chromium.executeCdpCommand("Page.resetNavigationHistory", Map.of());
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to reset pooled session: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Add the origins of the current tab's history entries and of its current frames
+     */
+    private static void collectOrigins(HasCdp chromium, Set<String> origins) {
+        Object entries = chromium.executeCdpCommand("Page.getNavigationHistory", Map.of()).get("entries");
+        if (entries instanceof List<?> list) {
+            for (Object entry : list) {
+                addOrigin(origins, ((Map<?, ?>) entry).get("url"));
+            }
+        }
+        addFrameOrigins(origins, chromium.executeCdpCommand("Page.getFrameTree", Map.of()).get("frameTree"));
+    }
+    
+    private static void addFrameOrigins(Set<String> origins, Object node) {
+        if (!(node instanceof Map<?, ?> tree)) {
+            return;
+        }
+        if (tree.get("frame") instanceof Map<?, ?> frame) {
+            addOrigin(origins, frame.get("url"));
+        }
+        if (tree.get("childFrames") instanceof List<?> children) {
+            children.forEach(child -> addFrameOrigins(origins, child));
+        }
+    }
+    
+    private static void addOrigin(Set<String> origins, Object url) {
+        try {
+            URI uri = new URI(String.valueOf(url));
+            if (uri.getHost() != null && ("http".equals(uri.getScheme()) || "https".equals(uri.getScheme()))) {
+                origins.add(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() != -1 ? ":" + uri.getPort() : ""));
+            }
+        } catch (URISyntaxException e) {
+            log.trace("Skipping unparsable URL {}", url);
+        }
+    }
+    
+    /**
+     * Clear every storage type of the visited origins and of each origin that set cookies
+     * (whose port is unknown, so both schemes on the default port), then the HTTP cache and all cookies
+     */
+    private static void clearOrigins(HasCdp chromium, Set<String> origins) {
+        Object cookies = chromium.executeCdpCommand("Network.getAllCookies", Map.of()).get("cookies");
+        if (cookies instanceof List<?> list) {
+            for (Object cookie : list) {
+                String domain = String.valueOf(((Map<?, ?>) cookie).get("domain")).replaceFirst("^\\.", "");
+                origins.add("https://" + domain);
+                origins.add("http://" + domain);
+            }
+        }
+        for (String origin : origins) {
+            try {
+                chromium.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+            } catch (WebDriverException e) {
+                log.debug("Could not clear storage of {}: {}", origin, e.getMessage());
+            }
+        }
+        log.debug("Cleared storage of {} origin(s)", origins.size());
+        chromium.executeCdpCommand("Network.clearBrowserCache", Map.of());
+        chromium.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+    }
+    
+    private static void evict(PooledSession session) {
+        if (session.holdsSlot) {
+            session.holdsSlot = false;
+            ConcurrencyGovernor.releaseDetached();
+        }
+        BrowserProcessMonitor.unregister(session.driver);
+        SessionWatchdog.untrack(session.driver);
+        quietQuit(session.driver);
+        log.debug("Evicted {} session after {} uses", session.browser, session.useCount);
+    }
+    
+    private static void quietQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.error("Error quitting pooled driver: {}", e.getMessage());
+        }
+    }
+    
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private final String browser;
+        private final Instant createdAt = Instant.now();
+        private int useCount;
+        private boolean holdsSlot;
+        
+        private PooledSession(WebDriver driver, String browser) {
+            this.driver = driver;
+            this.browser = browser;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.automation.core.browser;
+
+import com.automation.core.config.ConfigManager;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the next driver for each worker thread in the background while the
+ * current test runs, so the next DriverManager.getDriver() gets a ready session.
+ * Prefetched plus in-use browsers never exceed the configured live browser cap, and
+ * each prefetched browser holds a concurrency governor slot that its test adopts.
+ * A test waits at most driver.prefetch.timeout for its prefetched driver; a launch
+ * that takes longer is abandoned (its browser quit if it ever starts) and the test
+ * builds its own driver.
+ */
+@Slf4j
+public class DriverPrefetcher {
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Map<Thread, Deque<Prefetch>> prefetched = new ConcurrentHashMap<>();
+    private static final AtomicInteger pending = new AtomicInteger();
+    private static final AtomicInteger threadCounter = new AtomicInteger();
+    private static volatile boolean closed;
+    
+    private static final ExecutorService executor = Executors.newFixedThreadPool(
+            Math.max(1, config.getPrefetchThreads()), runnable -> {
+                Thread thread = new Thread(runnable, "driver-prefetch-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPrefetcher::shutdown, "driver-prefetch-shutdown"));
+    }
+    
+    /**
+     * Check if prefetching is enabled
+     */
+    public static boolean isEnabled() {
+        return config.isPrefetchEnabled();
+    }
+    
+    /**
+     * Take the prefetched driver for the current thread, or create one synchronously if none is ready.
+     * The current thread adopts the governor slot of the prefetched driver, or waits for one itself.
+     */
+    public static WebDriver take() {
+        Deque<Prefetch> queue = prefetched.get(Thread.currentThread());
+        Prefetch prefetch;
+        while (queue != null && (prefetch = queue.pollFirst()) != null) {
+            pending.decrementAndGet();
+            WebDriver driver = prefetch.await();
+            if (driver != null) {
+                ConcurrencyGovernor.adopt();
+                log.debug("Using prefetched driver for thread: {}", Thread.currentThread().getId());
+                return driver;
+            }
+            ConcurrencyGovernor.releaseDetached();
+        }
+        ConcurrencyGovernor.acquire();
+        return DriverFactory.createDriver();
+    }
+    
+    /**
+     * Start building the next driver(s) for the current thread, up to the prefetch depth, the live
+     * browser cap and the free governor slots
+     */
+    public static void prefetchNext() {
+        if (closed) {
+            return;
+        }
+        Deque<Prefetch> queue = prefetched.computeIfAbsent(Thread.currentThread(), key -> new ConcurrentLinkedDeque<>());
+        while (queue.size() < config.getPrefetchDepth() && reserveSlot()) {
+            if (!ConcurrencyGovernor.tryAcquireDetached()) {
+                pending.decrementAndGet();
+                log.debug("No free browser slot, not prefetching");
+                return;
+            }
+            Prefetch prefetch = new Prefetch();
+            prefetch.future = executor.submit(prefetch);
+            queue.addLast(prefetch);
+        }
+    }
+    
+    /**
+     * Stop prefetching and quit every driver that was prefetched but never used
+     */
+    public static void shutdown() {
+        closed = true;
+        List<Prefetch> prefetches = new ArrayList<>();
+        prefetched.values().forEach(prefetches::addAll);
+        prefetched.clear();
+        
+        for (Prefetch prefetch : prefetches) {
+            WebDriver driver = prefetch.abandon();
+            if (driver != null) {
+                try {
+                    driver.quit();
+                } catch (Exception e) {
+                    log.debug("Discarding prefetched driver: {}", e.getMessage());
+                }
+            }
+        }
+        pending.set(0);
+        executor.shutdown();
+    }
+    
+    private static boolean reserveSlot() {
+        int cap = config.getPrefetchMaxLive() > 0 ? config.getPrefetchMaxLive() : ConcurrencyGovernor.getLimit();
+        while (true) {
+            int current = pending.get();
+            if (current + DriverManager.getLiveDriverCount() >= cap) {
+                log.debug("Live browser cap {} reached, not prefetching", cap);
+                return false;
+            }
+            if (pending.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * One background launch. The driver is handed over under the lock, so a launch that
+     * finishes after it was abandoned quits its browser instead of leaking it.
+     */
+    private static final class Prefetch implements Callable<WebDriver> {
+        private Future<WebDriver> future;
+        private WebDriver driver;
+        private boolean abandoned;
+        
+        @Override
+        public WebDriver call() {
+            WebDriver created = DriverFactory.createDriver();
+            synchronized (this) {
+                if (!closed && !abandoned) {
+                    driver = created;
+                    return created;
+                }
+            }
+            // Abandoned or shut down while the driver was being built
+            created.quit();
+            return null;
+        }
+        
+        /**
+         * Wait up to driver.prefetch.timeout for the driver; null if it failed or took too long
+         */
+        WebDriver await() {
+            try {
+                return future.get(config.getPrefetchTimeout(), TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                log.warn("Prefetched driver failed to start: {}", e.getCause().getMessage());
+                return null;
+            } catch (TimeoutException e) {
+                WebDriver ready = abandon();
+                if (ready == null) {
+                    log.warn("Prefetched driver did not start within {} seconds, building one now",
+                            config.getPrefetchTimeout());
+                }
+                return ready;
+            } catch (InterruptedException e) {
+                abandon();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for prefetched driver", e);
+            }
+        }
+        
+        /**
+         * Give up on the launch and cancel it; returns the driver if it was handed over meanwhile
+         */
+        WebDriver abandon() {
+            WebDriver ready;
+            synchronized (this) {
+                abandoned = true;
+                ready = driver;
+            }
+            if (ready == null) {
+                future.cancel(true);
+            }
+            return ready;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.automation.core.browser;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one long-lived driver service (chromedriver, msedgedriver) per browser type
+ * and creates sessions against it through RemoteWebDriver, so a session no longer
+ * pays for starting and stopping its own driver process.
+ * Services are stopped at JVM exit.
+ */
+@Slf4j
+public class DriverServiceRegistry {
+    
+    private static final Map<String, DriverService> services = new ConcurrentHashMap<>();
+    
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverServiceRegistry::shutdown, "driver-service-shutdown"));
+    }
+    
+    /**
+     * Check if a browser can share a driver service across sessions.
+     * geckodriver only serves one session per process, Safari has no service to share.
+     */
+    public static boolean supports(String browser) {
+        return browser.equals("chrome") || browser.equals("edge");
+    }
+    
+    /**
+     * Start the shared service for a browser ahead of the first session
+     */
+    public static void start(String browser) {
+        serviceFor(browser);
+    }
+    
+    /**
+     * Create a new session on the shared service for a browser.
+     * The session is augmented with CDP (HasCdp, HasDevTools), so CDP-based features
+     * work as they do on a ChromeDriver/EdgeDriver started with its own service.
+     */
+    public static WebDriver newSession(String browser, Capabilities options) {
+        return new Augmenter().augment(new RemoteWebDriver(serviceFor(browser).getUrl(), options));
+    }
+    
+    /**
+     * Stop all shared services
+     */
+    public static void shutdown() {
+        services.forEach((browser, service) -> {
+            try {
+                service.stop();
+                log.info("Stopped shared {} driver service", browser);
+            } catch (Exception e) {
+                log.error("Error stopping {} driver service: {}", browser, e.getMessage());
+            }
+        });
+        services.clear();
+    }
+    
+    private static DriverService serviceFor(String browser) {
+        String key = browser.toLowerCase();
+        if (!supports(key)) {
+            throw new IllegalArgumentException("Shared driver service not supported for browser: " + browser);
+        }
+        return services.computeIfAbsent(key, DriverServiceRegistry::startService);
+    }
+    
+    private static DriverService startService(String browser) {
+        DriverBinaryResolver.resolve(browser);
+        DriverService service = browser.equals("edge")
+                ? EdgeDriverService.createDefaultService()
+                : ChromeDriverService.createDefaultService();
+        try {
+            service.start();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start " + browser + " driver service", e);
+        }
+        log.info("Started shared {} driver service at {}", browser, service.getUrl());
+        return service;
+    }
+}
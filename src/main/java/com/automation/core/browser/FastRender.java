@@ -0,0 +1,325 @@
+package com.automation.core.browser;
+
+import com.automation.core.config.ConfigManager;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fast-render profile for functional tests: blocks heavy third-party resources
+ * (analytics, ads, web fonts, video and optionally images) and cuts CSS animations
+ * and transitions to near zero, so pages settle as soon as their content is there.
+ * On Chromium the blocklist and stylesheet are switched per test over CDP, so visual
+ * tests can opt out (@FullRender, @fullrender) even on pooled sessions, and blocked
+ * requests are counted for the test report. Bytes saved are estimated from the average
+ * size of responses of the same resource type loaded during the run.
+ * Firefox gets equivalent preferences when the session starts (blocked hosts resolve
+ * locally, no web fonts or autoplay) and the stylesheet after each navigation. As those
+ * preferences follow the test that creates the session, Firefox sessions are neither
+ * pooled nor prefetched while fast render is enabled.
+ */
+@Slf4j
+public class FastRender {
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final String STYLE_ID = "__automation-fast-render";
+    private static final String BLOCKED_BY_CLIENT = "inspector";
+    private static final List<String> IMAGE_PATTERNS =
+            List.of("*.png*", "*.jpg*", "*.jpeg*", "*.gif*", "*.webp*", "*.avif*", "*.svg*", "*.ico*");
+    private static final Pattern HOST_PATTERN = Pattern.compile("\\*?([a-z0-9-]+(\\.[a-z0-9-]+)+)\\*?");
+    
+    /**
+     * Zero-ish durations rather than none, so transitionend/animationend still fire for apps waiting on them
+     */
+    static final String STYLESHEET_SCRIPT =
+            "(function () {" +
+            "  if (document.getElementById('" + STYLE_ID + "')) { return; }" +
+            "  var style = document.createElement('style');" +
+            "  style.id = '" + STYLE_ID + "';" +
+            "  style.textContent = '*, *::before, *::after {" +
+            " animation-duration: 0.01ms !important; animation-delay: 0s !important;" +
+            " animation-iteration-count: 1 !important; transition-duration: 0.01ms !important;" +
+            " transition-delay: 0s !important; scroll-behavior: auto !important; }';" +
+            "  if (document.documentElement) { document.documentElement.appendChild(style); return; }" +
+            "  new MutationObserver(function (records, observer) {" +
+            "    if (document.documentElement) { observer.disconnect(); document.documentElement.appendChild(style); }" +
+            "  }).observe(document, {childList: true});" +
+            "})();";
+    
+    private static final String REMOVE_STYLESHEET_SCRIPT =
+            "var style = document.getElementById('" + STYLE_ID + "'); if (style) { style.remove(); }";
+    
+    private static final ThreadLocal<Boolean> allowed = ThreadLocal.withInitial(() -> true);
+    private static final Map<WebDriver, Session> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, LongSummaryStatistics> sizesByType = new ConcurrentHashMap<>();
+    private static final AtomicLong totalBlocked = new AtomicLong();
+    private static final AtomicLong totalBytesSaved = new AtomicLong();
+    
+    /**
+     * Check if fast render is configured for this run
+     */
+    public static boolean isEnabled() {
+        return config.isFastRenderEnabled();
+    }
+    
+    /**
+     * Declare whether the current thread's test may run with fast render (false for visual tests)
+     */
+    public static void setAllowed(boolean value) {
+        allowed.set(value);
+    }
+    
+    /**
+     * Check if fast render applies to the current thread's test
+     */
+    public static boolean isActive() {
+        return isEnabled() && allowed.get();
+    }
+    
+    /**
+     * Check if fast render is fixed when a session is created (Firefox preferences), so a
+     * session created ahead of its test could not follow that test's opt-out
+     */
+    public static boolean isFixedAtCreation() {
+        return isEnabled() && config.getBrowser().equalsIgnoreCase("firefox");
+    }
+    
+    /**
+     * Firefox equivalents of the blocklist, fixed for the life of the session
+     */
+    static void configure(FirefoxOptions options) {
+        if (!isActive()) {
+            return;
+        }
+        List<String> hosts = blockedHosts();
+        if (!hosts.isEmpty()) {
+            options.addPreference("network.dns.localDomains", String.join(",", hosts));
+        }
+        if (blocksExtension("woff") || blocksExtension("ttf") || blocksExtension("otf")) {
+            options.addPreference("gfx.downloadable_fonts.enabled", false);
+        }
+        if (blocksExtension("mp4") || blocksExtension("webm")) {
+            options.addPreference("media.autoplay.default", 5);
+        }
+        if (config.isFastRenderBlockImages()) {
+            options.addPreference("permissions.default.image", 2);
+        }
+        if (config.isFastRenderDisableAnimations()) {
+            options.addPreference("ui.prefersReducedMotion", 1);
+        }
+    }
+    
+    /**
+     * Switch a Chromium session to the current test's choice, when it is handed to a test
+     */
+    public static void apply(WebDriver driver) {
+        if (!isEnabled() || !(driver instanceof HasCdp chromium)) {
+            return;
+        }
+        try {
+            Session session = sessions.computeIfAbsent(driver, key -> Session.open(driver, chromium));
+            session.resetCounters();
+            session.update(driver, chromium, allowed.get());
+        } catch (WebDriverException e) {
+            log.warn("Could not apply fast render to session: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Add the animation stylesheet to a document that no CDP registration covers
+     */
+    public static void afterNavigation(WebDriver driver) {
+        if (!isActive() || !config.isFastRenderDisableAnimations() || driver instanceof HasCdp) {
+            return;
+        }
+        try {
+            ((JavascriptExecutor) driver).executeScript(STYLESHEET_SCRIPT);
+        } catch (WebDriverException e) {
+            log.debug("Could not add fast render stylesheet: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Requests blocked and bytes saved since the session was handed to the current test, then reset
+     */
+    public static Optional<String> describe(WebDriver driver) {
+        Session session = sessions.get(driver);
+        if (session == null || session.devTools == null) {
+            return Optional.empty();
+        }
+        if (!Boolean.TRUE.equals(session.active)) {
+            return Optional.of("Fast render: off for this test");
+        }
+        long blocked = session.blocked.getAndSet(0);
+        long bytes = session.bytesSaved.getAndSet(0);
+        long unsized = session.unsized.getAndSet(0);
+        totalBlocked.addAndGet(blocked);
+        totalBytesSaved.addAndGet(bytes);
+        return Optional.of(String.format("Fast render: %d request(s) blocked, ~%d KB saved%s",
+                blocked, bytes / 1024, unsized > 0 ? " (" + unsized + " without a size estimate)" : ""));
+    }
+    
+    /**
+     * Requests blocked and bytes saved by all reported tests
+     */
+    public static String summary() {
+        return String.format("blocked=%d saved=~%dKB", totalBlocked.get(), totalBytesSaved.get() / 1024);
+    }
+    
+    private static List<String> blockedPatterns() {
+        List<String> patterns = new ArrayList<>(config.getFastRenderBlockedUrls());
+        if (config.isFastRenderBlockImages()) {
+            patterns.addAll(IMAGE_PATTERNS);
+        }
+        return patterns;
+    }
+    
+    /**
+     * Exact host names for "*host*" patterns; Firefox can only block whole hosts
+     */
+    private static List<String> blockedHosts() {
+        List<String> hosts = new ArrayList<>();
+        for (String pattern : config.getFastRenderBlockedUrls()) {
+            Matcher matcher = HOST_PATTERN.matcher(pattern.toLowerCase());
+            if (matcher.matches() && !pattern.startsWith("*.")) {
+                hosts.add(matcher.group(1));
+                hosts.add("www." + matcher.group(1));
+            }
+        }
+        return hosts;
+    }
+    
+    private static boolean blocksExtension(String extension) {
+        return config.getFastRenderBlockedUrls().stream().anyMatch(pattern -> pattern.contains("." + extension));
+    }
+    
+    private static Map<String, Object> readMap(JsonInput input) {
+        return input.read(Json.MAP_TYPE);
+    }
+    
+    /**
+     * CDP state of one Chromium session. Commands go over a DevTools connection when one
+     * can be opened (which also feeds the report), otherwise through the driver.
+     */
+    private static final class Session {
+        
+        private final DevTools devTools;
+        private final Map<String, String> typesByRequest = new ConcurrentHashMap<>();
+        private final AtomicLong blocked = new AtomicLong();
+        private final AtomicLong bytesSaved = new AtomicLong();
+        private final AtomicLong unsized = new AtomicLong();
+        private Boolean active;
+        private String stylesheetId;
+        
+        private Session(DevTools devTools) {
+            this.devTools = devTools;
+        }
+        
+        static Session open(WebDriver driver, HasCdp cdp) {
+            DevTools devTools = null;
+            try {
+                devTools = driver instanceof HasDevTools hasDevTools ? hasDevTools.maybeGetDevTools().orElse(null) : null;
+                if (devTools != null) {
+                    devTools.createSessionIfThereIsNotOne();
+                }
+            } catch (WebDriverException e) {
+                log.debug("No DevTools connection, fast render runs without a report: {}", e.getMessage());
+                devTools = null;
+            }
+            Session session = new Session(devTools);
+            if (devTools != null) {
+                session.listen();
+            }
+            session.send(cdp, "Network.enable", Map.of());
+            return session;
+        }
+        
+        private void listen() {
+            devTools.addListener(new Event<>("Network.responseReceived", FastRender::readMap),
+                    event -> typesByRequest.put(String.valueOf(event.get("requestId")), String.valueOf(event.get("type"))));
+            devTools.addListener(new Event<>("Network.loadingFinished", FastRender::readMap), event -> {
+                String type = typesByRequest.remove(String.valueOf(event.get("requestId")));
+                if (type != null && event.get("encodedDataLength") instanceof Number bytes) {
+                    LongSummaryStatistics stats = sizesByType.computeIfAbsent(type, key -> new LongSummaryStatistics());
+                    synchronized (stats) {
+                        stats.accept(bytes.longValue());
+                    }
+                }
+            });
+            devTools.addListener(new Event<>("Network.loadingFailed", FastRender::readMap), event -> {
+                typesByRequest.remove(String.valueOf(event.get("requestId")));
+                if (BLOCKED_BY_CLIENT.equals(event.get("blockedReason"))) {
+                    countBlocked(String.valueOf(event.get("type")));
+                }
+            });
+        }
+        
+        private void countBlocked(String type) {
+            blocked.incrementAndGet();
+            LongSummaryStatistics stats = sizesByType.get(type);
+            if (stats == null) {
+                unsized.incrementAndGet();
+                return;
+            }
+            synchronized (stats) {
+                bytesSaved.addAndGet((long) stats.getAverage());
+            }
+        }
+        
+        void resetCounters() {
+            blocked.set(0);
+            bytesSaved.set(0);
+            unsized.set(0);
+        }
+        
+        synchronized void update(WebDriver driver, HasCdp cdp, boolean activate) {
+            if (Boolean.valueOf(activate).equals(active)) {
+                return;
+            }
+            send(cdp, "Network.setBlockedURLs", Map.of("urls", activate ? blockedPatterns() : List.of()));
+            if (config.isFastRenderDisableAnimations()) {
+                send(cdp, "Emulation.setEmulatedMedia", Map.of("features",
+                        List.of(Map.of("name", "prefers-reduced-motion", "value", activate ? "reduce" : ""))));
+                if (activate) {
+                    stylesheetId = String.valueOf(send(cdp, "Page.addScriptToEvaluateOnNewDocument",
+                            Map.of("source", STYLESHEET_SCRIPT)).get("identifier"));
+                    ((JavascriptExecutor) driver).executeScript(STYLESHEET_SCRIPT);
+                } else if (stylesheetId != null) {
+                    send(cdp, "Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", stylesheetId));
+                    stylesheetId = null;
+                    ((JavascriptExecutor) driver).executeScript(REMOVE_STYLESHEET_SCRIPT);
+                }
+            }
+            active = activate;
+            log.debug("Fast render {} for session", activate ? "on" : "off");
+        }
+        
+        private Map<String, Object> send(HasCdp cdp, String method, Map<String, Object> params) {
+            if (devTools != null) {
+                return devTools.send(new Command<>(method, params, FastRender::readMap));
+            }
+            return cdp.executeCdpCommand(method, params);
+        }
+    }
+}
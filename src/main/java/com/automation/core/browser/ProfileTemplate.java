@@ -0,0 +1,233 @@
+package com.automation.core.browser;
+
+import com.automation.core.config.ConfigManager;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Pre-warmed Chrome profile template.
+ * The template --user-data-dir is created once per run by visiting the base URL,
+ * so its HTTP cache, font cache and component state are already populated.
+ * Each session gets its own clone under java.io.tmpdir. With chrome.profile.template.tmpfs
+ * a clone goes to /dev/shm instead while it has room for twice the template, as shm is
+ * small in containers (the reason Chrome runs with --disable-dev-shm-usage).
+ * Clones are copied (copy-on-write where the filesystem supports reflinks);
+ * hardlinks are not used because Chrome rewrites cache files in place.
+ */
+@Slf4j
+public class ProfileTemplate {
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Duration STARTUP_GRACE = Duration.ofSeconds(60);
+    private static final int TMPFS_HEADROOM = 2;
+    private static final Path root = createRoot(Paths.get(System.getProperty("java.io.tmpdir")));
+    private static final Path tmpfsRoot = chooseTmpfsRoot();
+    private static final Set<Path> copying = ConcurrentHashMap.newKeySet();
+    private static Path template;
+    private static long templateBytes;
+    
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            deleteRecursively(root);
+            if (tmpfsRoot != null) {
+                deleteRecursively(tmpfsRoot);
+            }
+        }, "profile-template-cleanup"));
+    }
+    
+    /**
+     * Check if profile templating is enabled
+     */
+    public static boolean isEnabled() {
+        return config.isProfileTemplateEnabled();
+    }
+    
+    /**
+     * Create a fresh clone of the template for one session and return its path
+     */
+    public static Path cloneForSession() {
+        Path source = template();
+        sweepFinishedClones(root);
+        if (tmpfsRoot != null) {
+            sweepFinishedClones(tmpfsRoot);
+        }
+        Path clone = cloneRoot().resolve("session-" + UUID.randomUUID());
+        long start = System.nanoTime();
+        copying.add(clone);
+        try {
+            copyTree(source, clone);
+            // cp -a keeps the template's mtime; restart the startup grace from now
+            Files.setLastModifiedTime(clone, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to touch Chrome profile clone " + clone, e);
+        } finally {
+            copying.remove(clone);
+        }
+        log.debug("Cloned profile template to {} in {} ms", clone, (System.nanoTime() - start) / 1_000_000);
+        return clone;
+    }
+    
+    private static synchronized Path template() {
+        if (template == null) {
+            Path dir = root.resolve("template");
+            String url = config.get("chrome.profile.template.url", config.getBaseUrl());
+            log.info("Building Chrome profile template in {} from {}", dir, url);
+            
+            ChromeOptions options = DriverFactory.chromeOptions();
+            options.addArguments("--headless=new");
+            options.addArguments("--user-data-dir=" + dir);
+            // The warm-up must load every subresource to populate the cache
+            options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+            DriverBinaryResolver.resolve("chrome");
+            ChromeDriver driver = new ChromeDriver(options);
+            try {
+                driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(config.getPageLoadTimeout()));
+                driver.get(url);
+            } catch (Exception e) {
+                log.warn("Profile template warm-up navigation failed: {}", e.getMessage());
+            } finally {
+                driver.quit();
+            }
+            template = dir;
+            templateBytes = sizeOf(dir);
+        }
+        return template;
+    }
+    
+    /**
+     * tmpfs when enabled and it has room for the clone plus what Chrome writes to it, otherwise java.io.tmpdir
+     */
+    private static Path cloneRoot() {
+        if (tmpfsRoot == null) {
+            return root;
+        }
+        try {
+            if (Files.getFileStore(tmpfsRoot).getUsableSpace() >= templateBytes * TMPFS_HEADROOM) {
+                return tmpfsRoot;
+            }
+            log.debug("Not enough room on {} for a profile clone, using {}", tmpfsRoot, root);
+        } catch (IOException e) {
+            log.debug("Cannot read free space of {}: {}", tmpfsRoot, e.getMessage());
+        }
+        return root;
+    }
+    
+    private static long sizeOf(Path dir) {
+        try (Stream<Path> walk = Files.walk(dir)) {
+            return walk.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        } catch (IOException e) {
+            log.debug("Cannot measure profile template {}: {}", dir, e.getMessage());
+            return Long.MAX_VALUE / TMPFS_HEADROOM;
+        }
+    }
+    
+    /**
+     * Delete clones whose Chrome has exited (no SingletonLock) and that are past the startup grace
+     * period, counted from the end of their copy; clones still being copied are skipped
+     */
+    private static void sweepFinishedClones(Path parent) {
+        try (Stream<Path> entries = Files.list(parent)) {
+            Instant cutoff = Instant.now().minus(STARTUP_GRACE);
+            entries.filter(path -> path.getFileName().toString().startsWith("session-"))
+                    .filter(path -> !copying.contains(path))
+                    .filter(path -> !Files.exists(path.resolve("SingletonLock"), LinkOption.NOFOLLOW_LINKS))
+                    .filter(path -> isOlderThan(path, cutoff))
+                    .forEach(ProfileTemplate::deleteRecursively);
+        } catch (IOException e) {
+            log.debug("Failed to sweep profile clones: {}", e.getMessage());
+        }
+    }
+    
+    private static boolean isOlderThan(Path path, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+    
+    private static void copyTree(Path source, Path target) {
+        try {
+            Process cp = new ProcessBuilder("cp", "-a", "--reflink=auto", source.toString(), target.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (cp.waitFor() == 0) {
+                return;
+            }
+        } catch (IOException e) {
+            log.debug("cp not available, copying profile in Java: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        // A failed cp may have left a partial tree behind
+        deleteRecursively(target);
+        try {
+            Files.walkFileTree(source, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    Files.createDirectories(target.resolve(source.relativize(dir)));
+                    return FileVisitResult.CONTINUE;
+                }
+                
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (attrs.isRegularFile()) {
+                        Files.copy(file, target.resolve(source.relativize(file)), StandardCopyOption.COPY_ATTRIBUTES,
+                                StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to clone Chrome profile template", e);
+        }
+    }
+    
+    private static Path chooseTmpfsRoot() {
+        Path shm = Paths.get("/dev/shm");
+        if (!config.isProfileTemplateTmpfs() || !Files.isDirectory(shm) || !Files.isWritable(shm)) {
+            return null;
+        }
+        return createRoot(shm);
+    }
+    
+    private static Path createRoot(Path base) {
+        Path dir = base.resolve("selenium-profiles-" + ProcessHandle.current().pid());
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create profile directory " + dir, e);
+        }
+        return dir;
+    }
+    
+    private static void deleteRecursively(Path path) {
+        try (Stream<Path> walk = Files.walk(path)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            log.debug("Failed to delete {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.automation.core.browser;
+
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe timing statistics for browser session lifecycle events
+ * (e.g. session startup per creation mode). Values are in milliseconds.
+ */
+public class SessionMetrics {
+    
+    private static final Map<String, LongSummaryStatistics> metrics = new ConcurrentHashMap<>();
+    
+    /**
+     * Record one sample for a metric
+     */
+    public static void record(String metric, long millis) {
+        LongSummaryStatistics stats = metrics.computeIfAbsent(metric, key -> new LongSummaryStatistics());
+        synchronized (stats) {
+            stats.accept(millis);
+        }
+    }
+    
+    /**
+     * Get a copy of the statistics for a metric, empty if nothing was recorded
+     */
+    public static LongSummaryStatistics get(String metric) {
+        LongSummaryStatistics copy = new LongSummaryStatistics();
+        LongSummaryStatistics stats = metrics.get(metric);
+        if (stats != null) {
+            synchronized (stats) {
+                copy.combine(stats);
+            }
+        }
+        return copy;
+    }
+    
+    /**
+     * Human readable summary of all metrics, sorted by name
+     */
+    public static Map<String, String> summary() {
+        Map<String, String> summary = new TreeMap<>();
+        for (String metric : metrics.keySet()) {
+            LongSummaryStatistics stats = get(metric);
+            summary.put(metric, String.format("count=%d avg=%.0fms min=%dms max=%dms",
+                    stats.getCount(), stats.getAverage(), stats.getMin(), stats.getMax()));
+        }
+        return summary;
+    }
+    
+    /**
+     * Clear all recorded metrics
+     */
+    public static void reset() {
+        metrics.clear();
+    }
+}
@@ -0,0 +1,252 @@
+package com.automation.core.browser;
+
+import com.automation.core.config.ConfigManager;
+import com.automation.core.utils.ProcessUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks every browser and driver process spawned by DriverFactory and enforces a
+ * per-test wall-clock budget. When a test overruns, the whole process tree of its
+ * session is killed and its DriverManager slot is freed so the thread pool keeps moving.
+ * At startup, browsers left behind by earlier runs (identified by the run-id marker
+ * on their command line) are reaped together with their driver processes. Firefox takes
+ * no such argument, so geckodriver, and the Firefox it launches, carry the run id in an
+ * environment variable instead, read from /proc/PID/environ (Linux only, like
+ * the rest of the process tracking).
+ */
+@Slf4j
+public class SessionWatchdog {
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final String MARKER_ARG = "--automation-run-id=";
+    private static final String MARKER_ENV = "AUTOMATION_RUN_ID";
+    private static final Instant JVM_START = ProcessHandle.current().info().startInstant().orElse(Instant.now());
+    
+    /**
+     * Identifies this JVM: pid and start time, so a recycled pid is never mistaken for a live run
+     */
+    public static final String RUN_ID = ProcessHandle.current().pid() + "-" + JVM_START.toEpochMilli();
+    
+    private static final Map<WebDriver, SessionProcesses> tracked = new ConcurrentHashMap<>();
+    private static final Map<Thread, Instant> deadlines = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService scheduler;
+    
+    static {
+        if (isEnabled()) {
+            reapStaleProcesses();
+            Runtime.getRuntime().addShutdownHook(new Thread(SessionWatchdog::killAllTracked, "session-watchdog-shutdown"));
+        }
+    }
+    
+    /**
+     * Check if the watchdog is enabled
+     */
+    public static boolean isEnabled() {
+        return config.isWatchdogEnabled();
+    }
+    
+    /**
+     * Command line marker added to every browser started by the framework
+     */
+    public static String markerArgument() {
+        return MARKER_ARG + RUN_ID;
+    }
+    
+    /**
+     * Environment marker for driver services whose browser takes no marker argument (geckodriver)
+     */
+    public static Map<String, String> markerEnvironment() {
+        return Map.of(MARKER_ENV, RUN_ID);
+    }
+    
+    /**
+     * Record the processes behind a newly created session
+     */
+    public static void track(WebDriver driver) {
+        if (!isEnabled() || !ProcessUtil.isSupported()) {
+            return;
+        }
+        BrowserProcesses.browserPid(driver).ifPresent(browserPid -> {
+            // A shared driver service serves other sessions and must survive this one
+            long driverPid = config.isSharedDriverService()
+                    ? -1L
+                    : BrowserProcesses.driverPid(browserPid).orElse(-1L);
+            tracked.put(driver, new SessionProcesses(browserPid, driverPid));
+        });
+    }
+    
+    /**
+     * Forget a session that was shut down normally
+     */
+    public static void untrack(WebDriver driver) {
+        tracked.remove(driver);
+    }
+    
+    /**
+     * Start the wall-clock budget for the test running on the current thread
+     */
+    public static void startTest() {
+        if (!isEnabled()) {
+            return;
+        }
+        deadlines.put(Thread.currentThread(), Instant.now().plusSeconds(config.getWatchdogTestTimeout()));
+        ensureStarted();
+    }
+    
+    /**
+     * Stop the budget for the test running on the current thread
+     */
+    public static void endTest() {
+        deadlines.remove(Thread.currentThread());
+    }
+    
+    /**
+     * Kill browsers (and their driver processes) whose run-id marker belongs to a JVM that is gone
+     */
+    public static void reapStaleProcesses() {
+        if (!ProcessUtil.isSupported()) {
+            return;
+        }
+        int reaped = 0;
+        for (long pid : ProcessUtil.findPidsByArgument(MARKER_ARG)) {
+            String cmdline = ProcessUtil.cmdline(pid);
+            if (cmdline.contains("--type=") || cmdline.contains(markerArgument())) {
+                continue;
+            }
+            String runId = extractRunId(cmdline);
+            if (runId != null && !isRunAlive(runId)) {
+                Optional<Long> driverPid = BrowserProcesses.driverPid(pid)
+                        .filter(parent -> ProcessUtil.cmdline(parent).contains("driver"));
+                killTree(pid);
+                driverPid.ifPresent(SessionWatchdog::killTree);
+                reaped++;
+            }
+        }
+        for (long pid : ProcessUtil.findPidsByEnvironment(MARKER_ENV + "=")) {
+            String runId = extractEnvRunId(ProcessUtil.environ(pid));
+            if (runId != null && !runId.equals(RUN_ID) && !isRunAlive(runId)
+                    && !ProcessUtil.cmdline(pid).contains("-contentproc")) {
+                killTree(pid);
+                reaped++;
+            }
+        }
+        if (reaped > 0) {
+            log.warn("Reaped {} browser(s) left behind by earlier runs", reaped);
+        }
+    }
+    
+    private static synchronized void ensureStarted() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "session-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(SessionWatchdog::checkDeadlines, 1, 1, TimeUnit.SECONDS);
+        }
+    }
+    
+    private static void checkDeadlines() {
+        Instant now = Instant.now();
+        deadlines.forEach((thread, deadline) -> {
+            if (now.isAfter(deadline) && deadlines.remove(thread, deadline)) {
+                log.error("Test on thread '{}' exceeded its {} s budget, killing its browser",
+                        thread.getName(), config.getWatchdogTestTimeout());
+                WebDriver driver = DriverManager.abandonDriver(thread);
+                if (driver != null) {
+                    SessionProcesses processes = tracked.remove(driver);
+                    if (processes != null) {
+                        processes.kill();
+                    }
+                }
+                thread.interrupt();
+            }
+        });
+    }
+    
+    private static void killAllTracked() {
+        tracked.values().forEach(SessionProcesses::kill);
+        tracked.clear();
+    }
+    
+    private static String extractRunId(String cmdline) {
+        int start = cmdline.indexOf(MARKER_ARG);
+        if (start < 0) {
+            return null;
+        }
+        int end = cmdline.indexOf(' ', start);
+        return cmdline.substring(start + MARKER_ARG.length(), end < 0 ? cmdline.length() : end);
+    }
+    
+    private static String extractEnvRunId(String environ) {
+        for (String entry : environ.split("\n")) {
+            if (entry.startsWith(MARKER_ENV + "=")) {
+                return entry.substring(MARKER_ENV.length() + 1);
+            }
+        }
+        return null;
+    }
+    
+    private static boolean isRunAlive(String runId) {
+        try {
+            String[] parts = runId.split("-");
+            long pid = Long.parseLong(parts[0]);
+            long startMillis = Long.parseLong(parts[1]);
+            return ProcessHandle.of(pid)
+                    .flatMap(handle -> handle.info().startInstant())
+                    .map(start -> Math.abs(start.toEpochMilli() - startMillis) < Duration.ofSeconds(1).toMillis())
+                    .orElse(false);
+        } catch (RuntimeException e) {
+            // Unparseable marker: leave the process alone
+            return true;
+        }
+    }
+    
+    private static void killTree(long pid) {
+        List<ProcessHandle> handles = new ArrayList<>();
+        ProcessHandle.of(pid).ifPresent(handle -> {
+            handle.descendants().forEach(handles::add);
+            handles.add(handle);
+        });
+        handles.forEach(ProcessHandle::destroyForcibly);
+    }
+    
+    /**
+     * Browser and driver PIDs of a session, with their command lines so a recycled PID is never killed
+     */
+    private static final class SessionProcesses {
+        private final long browserPid;
+        private final long driverPid;
+        private final String browserCmdline;
+        private final String driverCmdline;
+        
+        private SessionProcesses(long browserPid, long driverPid) {
+            this.browserPid = browserPid;
+            this.driverPid = driverPid;
+            this.browserCmdline = ProcessUtil.cmdline(browserPid);
+            this.driverCmdline = driverPid > 0 ? ProcessUtil.cmdline(driverPid) : "";
+        }
+        
+        private void kill() {
+            if (ProcessUtil.cmdline(browserPid).equals(browserCmdline)) {
+                killTree(browserPid);
+            }
+            if (driverPid > 0 && driverPid != ProcessHandle.current().pid()
+                    && ProcessUtil.cmdline(driverPid).equals(driverCmdline)) {
+                killTree(driverPid);
+            }
+        }
+    }
+}
@@ -4,6 +4,8 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -78,6 +80,170 @@ public class ConfigManager {
         return Boolean.parseBoolean(getProperty("browser.delete.cookies", "true"));
     }
     
+    public String getPageLoadStrategy() {
+        return getProperty("browser.page.load.strategy", "normal");
+    }
+    
+    // Fast Render Configuration
+    public boolean isFastRenderEnabled() {
+        return Boolean.parseBoolean(getProperty("fast.render.enabled", "false"));
+    }
+    
+    /**
+     * Comma separated URL patterns ('*' wildcard) that fast render blocks
+     */
+    public List<String> getFastRenderBlockedUrls() {
+        return Arrays.stream(getProperty("fast.render.blocked.urls", "").split(","))
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .toList();
+    }
+    
+    public boolean isFastRenderBlockImages() {
+        return Boolean.parseBoolean(getProperty("fast.render.block.images", "false"));
+    }
+    
+    public boolean isFastRenderDisableAnimations() {
+        return Boolean.parseBoolean(getProperty("fast.render.disable.animations", "true"));
+    }
+    
+    // Driver Pool Configuration
+    public boolean isDriverPoolEnabled() {
+        return Boolean.parseBoolean(getProperty("driver.pool.enabled", "false"));
+    }
+    
+    public int getDriverPoolSize() {
+        return Integer.parseInt(getProperty("driver.pool.size", "3"));
+    }
+    
+    public int getDriverPoolMaxReuse() {
+        return Integer.parseInt(getProperty("driver.pool.max.reuse", "25"));
+    }
+    
+    public int getDriverPoolMaxAge() {
+        return Integer.parseInt(getProperty("driver.pool.max.age", "900"));
+    }
+    
+    /**
+     * Driver isolation strategy: "process" (browser per test) or "context" (browser context per test, Chrome only)
+     */
+    public String getDriverIsolation() {
+        return getProperty("driver.isolation", "process");
+    }
+    
+    // Concurrency Governor Configuration
+    public boolean isGovernorEnabled() {
+        return Boolean.parseBoolean(getProperty("driver.governor.enabled", "false"));
+    }
+    
+    /**
+     * Hard cap on concurrent browsers; 0 sizes the cap from cores and memory
+     */
+    public int getMaxBrowsers() {
+        return Integer.parseInt(getProperty("driver.max.browsers", "0"));
+    }
+    
+    public double getGovernorSessionsPerCore() {
+        return Double.parseDouble(getProperty("driver.governor.sessions.per.core", "1.0"));
+    }
+    
+    public long getGovernorBrowserMemoryMb() {
+        return Long.parseLong(getProperty("driver.governor.browser.memory", "600"));
+    }
+    
+    public long getGovernorMemoryReserveMb() {
+        return Long.parseLong(getProperty("driver.governor.memory.reserve", "1024"));
+    }
+    
+    public int getGovernorWaitTimeout() {
+        return Integer.parseInt(getProperty("driver.governor.wait", "300"));
+    }
+    
+    // Driver Prefetch Configuration
+    public boolean isPrefetchEnabled() {
+        return Boolean.parseBoolean(getProperty("driver.prefetch.enabled", "false"));
+    }
+    
+    public int getPrefetchDepth() {
+        return Integer.parseInt(getProperty("driver.prefetch.depth", "1"));
+    }
+    
+    /**
+     * Cap on prefetched plus in-use browsers; 0 uses the concurrency governor limit
+     */
+    public int getPrefetchMaxLive() {
+        return Integer.parseInt(getProperty("driver.prefetch.max.live", "0"));
+    }
+    
+    public int getPrefetchThreads() {
+        return Integer.parseInt(getProperty("driver.prefetch.threads", "2"));
+    }
+    
+    /**
+     * Seconds a test waits for its prefetched driver before building one itself
+     */
+    public int getPrefetchTimeout() {
+        return Integer.parseInt(getProperty("driver.prefetch.timeout", "60"));
+    }
+    
+    // Chrome Profile Template Configuration
+    public boolean isProfileTemplateEnabled() {
+        return Boolean.parseBoolean(getProperty("chrome.profile.template.enabled", "false"));
+    }
+    
+    public boolean isProfileTemplateTmpfs() {
+        return Boolean.parseBoolean(getProperty("chrome.profile.template.tmpfs", "false"));
+    }
+    
+    // Browser Process Monitor Configuration
+    public boolean isBrowserMonitorEnabled() {
+        return Boolean.parseBoolean(getProperty("browser.monitor.enabled", "false"));
+    }
+    
+    public int getBrowserMonitorInterval() {
+        return Integer.parseInt(getProperty("browser.monitor.interval", "5"));
+    }
+    
+    /**
+     * RSS limit of a browser process tree in MB before it is recycled; 0 disables the limit
+     */
+    public long getBrowserMonitorMaxRssMb() {
+        return Long.parseLong(getProperty("browser.monitor.max.rss", "1500"));
+    }
+    
+    /**
+     * Sustained CPU limit in percent before a browser is recycled; 0 disables the limit
+     */
+    public int getBrowserMonitorMaxCpu() {
+        return Integer.parseInt(getProperty("browser.monitor.max.cpu", "0"));
+    }
+    
+    // Session Watchdog Configuration
+    public boolean isWatchdogEnabled() {
+        return Boolean.parseBoolean(getProperty("watchdog.enabled", "false"));
+    }
+    
+    public int getWatchdogTestTimeout() {
+        return Integer.parseInt(getProperty("watchdog.test.timeout", "600"));
+    }
+    
+    // Driver Binary Configuration
+    public boolean isDriverOfflineMode() {
+        return Boolean.parseBoolean(getProperty("driver.offline", "false"));
+    }
+    
+    public String getDriverBinaryPath(String browser) {
+        return getProperty("driver.path." + browser.toLowerCase(), "");
+    }
+    
+    public String getDriverMirrorDir() {
+        return getProperty("driver.mirror.dir", "");
+    }
+    
+    public boolean isSharedDriverService() {
+        return Boolean.parseBoolean(getProperty("driver.service.shared", "false"));
+    }
+    
     // Timeout Configuration
     public int getImplicitTimeout() {
         return Integer.parseInt(getProperty("timeout.implicit", "10"));
@@ -100,6 +266,14 @@ public class ConfigManager {
     }
     
     // Wait Configuration
+    public String getWaitMode() {
+        return getProperty("wait.mode", "implicit");
+    }
+    
+    public boolean isFrameworkWaitMode() {
+        return "framework".equalsIgnoreCase(getWaitMode());
+    }
+    
     public int getElementVisibleTimeout() {
         return Integer.parseInt(getProperty("wait.element.visible", "20"));
     }
@@ -112,6 +286,25 @@ public class ConfigManager {
         return Integer.parseInt(getProperty("wait.element.presence", "10"));
     }
     
+    public int getNetworkQuietPeriod() {
+        return Integer.parseInt(getProperty("wait.network.quiet", "500"));
+    }
+    
+    public int getDomQuietPeriod() {
+        return Integer.parseInt(getProperty("wait.dom.quiet", "300"));
+    }
+    
+    public int getGridBatchSize() {
+        return Integer.parseInt(getProperty("grid.batch.size", "200"));
+    }
+    
+    /**
+     * Milliseconds a virtualized list may take to re-render after GridReader scrolls it
+     */
+    public int getGridScrollSettleTimeout() {
+        return Integer.parseInt(getProperty("grid.scroll.settle.timeout", "3000"));
+    }
+    
     // API Configuration
     public String getApiBaseUrl() {
         return getProperty("api.base.url", "https://api.example.com");
@@ -151,6 +344,44 @@ public class ConfigManager {
         return getProperty("report.name", "Selenium Framework Report");
     }
     
+    // Auth State Configuration
+    public boolean isAuthStateEnabled() {
+        return Boolean.parseBoolean(getProperty("auth.state.enabled", "false"));
+    }
+    
+    public String getAuthStateDir() {
+        return getProperty("auth.state.dir", "target/auth-state");
+    }
+    
+    /**
+     * Seconds a stored signed-in state is reused before logging in again
+     */
+    public int getAuthStateMaxAge() {
+        return Integer.parseInt(getProperty("auth.state.max.age", "1800"));
+    }
+    
+    /**
+     * Key scoping stored state on disk to one run; empty scopes it to the current JVM.
+     * Set the same value (e.g. a CI build number) to share logins between JVMs of one run.
+     */
+    public String getAuthStateRunId() {
+        return getProperty("auth.state.run.id", "");
+    }
+    
+    /**
+     * Seconds to wait for the landing page to confirm that restored state is still accepted
+     */
+    public int getAuthStateCheckTimeout() {
+        return Integer.parseInt(getProperty("auth.state.check.timeout", "3"));
+    }
+    
+    /**
+     * Light same-origin page opened to restore state on browsers without CDP
+     */
+    public String getAuthStateRestorePath() {
+        return getProperty("auth.state.restore.path", "/favicon.ico");
+    }
+    
     // Environment
     public String getEnvironment() {
         return getProperty("environment", "qa");
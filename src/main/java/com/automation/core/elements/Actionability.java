@@ -0,0 +1,185 @@
+package com.automation.core.elements;
+
+import com.automation.core.config.ConfigManager;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Actionability engine: locates an element and verifies it is attached, visible,
+ * enabled, stable across two animation frames and not obscured at its click point,
+ * all in one async page agent round trip. The element handle is returned with
+ * the verdict, so the action itself needs no further find. Between failed checks
+ * the wait blocks in the page (DomWait) until the failing precondition can have changed.
+ */
+@Slf4j
+class Actionability {
+    
+    enum Check { VISIBLE, ENABLED, STABLE, RECEIVES_EVENTS }
+    
+    static final Set<Check> CLICK = EnumSet.allOf(Check.class);
+    static final Set<Check> INPUT = EnumSet.of(Check.VISIBLE, Check.ENABLED);
+    static final Set<Check> HOVER = EnumSet.of(Check.VISIBLE, Check.STABLE);
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final long SETTLE_PAUSE_MS = 50;
+    /**
+     * How long a covered element may stay covered (e.g. a fading overlay) before the caller falls back
+     */
+    private static final long OBSCURED_GRACE_MS = 300;
+    
+    static final String SCRIPT =
+            "var using = arguments[0], value = arguments[1], checks = arguments[2];" +
+            "var reply = arguments[arguments.length - 1];" +
+            "function done(result) { result.epoch = epoch(); reply(result); }" +
+            "var el;" +
+            "try { el = findAll(using, value)[0]; } catch (e) { return done({state: 'error', detail: String(e)}); }" +
+            "if (!el || !el.isConnected) { return done({state: 'detached'}); }" +
+            "if (checks.VISIBLE && !visible(el)) { return done({state: 'hidden', element: el}); }" +
+            "if (checks.ENABLED && !enabled(el)) { return done({state: 'disabled', element: el}); }" +
+            "function describe(node) {" +
+            "  if (!node) { return 'nothing'; }" +
+            "  return node.tagName.toLowerCase() + (node.id ? '#' + node.id : '')" +
+            "      + (typeof node.className === 'string' && node.className ? '.' + node.className.trim().split(/\\s+/).join('.') : '');" +
+            "}" +
+            "function hitTest() {" +
+            "  if (!checks.RECEIVES_EVENTS) { return done({state: 'ok', element: el}); }" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  if (rect.bottom < 0 || rect.right < 0 || rect.top > innerHeight || rect.left > innerWidth) {" +
+            "    el.scrollIntoView({block: 'center', inline: 'center'});" +
+            "    rect = el.getBoundingClientRect();" +
+            "  }" +
+            "  var hit = document.elementFromPoint(rect.left + rect.width / 2, rect.top + rect.height / 2);" +
+            "  var root = el.getRootNode();" +
+            "  if (hit && root !== document && root.elementFromPoint) {" +
+            "    hit = root.elementFromPoint(rect.left + rect.width / 2, rect.top + rect.height / 2) || hit;" +
+            "  }" +
+            "  if (hit && (hit === el || el.contains(hit))) { return done({state: 'ok', element: el}); }" +
+            "  return done({state: 'obscured', element: el, detail: describe(hit)});" +
+            "}" +
+            "if (!checks.STABLE) { return hitTest(); }" +
+            "function frame(callback) {" +
+            "  var fired = false;" +
+            "  var run = function () { if (!fired) { fired = true; callback(); } };" +
+            "  requestAnimationFrame(run);" +
+            "  setTimeout(run, 100);" + // rAF does not fire in background windows
+            "}" +
+            "var before = el.getBoundingClientRect();" +
+            "frame(function () { frame(function () {" +
+            "  var after = el.getBoundingClientRect();" +
+            "  if (before.top !== after.top || before.left !== after.left" +
+            "      || before.width !== after.width || before.height !== after.height) {" +
+            "    return done({state: 'unstable', element: el});" +
+            "  }" +
+            "  hitTest();" +
+            "}); });";
+    
+    /**
+     * Outcome of an actionability wait
+     */
+    record Result(String state, WebElement element, String detail, String epoch, int roundTrips) {
+        
+        boolean isActionable() {
+            return "ok".equals(state);
+        }
+        
+        String describe() {
+            return state + (detail != null ? " (" + detail + ")" : "") + " after " + roundTrips + " round trip(s)";
+        }
+    }
+    
+    /**
+     * Retry the actionability check until it passes or the timeout expires.
+     * An element that stays obscured past a short grace period is returned as is,
+     * so the caller can fall back (e.g. to a JavaScript click) instead of waiting out the timeout.
+     */
+    static Result await(By locator, Set<Check> checks, Duration timeout) {
+        List<Object> args = new ArrayList<>(Locators.toScriptArgs(locator));
+        args.add(toFlags(checks));
+        
+        Instant end = Instant.now().plus(timeout);
+        Instant obscuredSince = null;
+        int roundTrips = 0;
+        Result result;
+        while (true) {
+            roundTrips++;
+            result = check(args, roundTrips);
+            if (result.isActionable() || "error".equals(result.state()) || !Instant.now().isBefore(end)) {
+                return result;
+            }
+            if ("obscured".equals(result.state())) {
+                obscuredSince = obscuredSince != null ? obscuredSince : Instant.now();
+                if (Duration.between(obscuredSince, Instant.now()).toMillis() >= OBSCURED_GRACE_MS) {
+                    return result;
+                }
+            } else {
+                obscuredSince = null;
+            }
+            roundTrips += waitForChange(locator, result.state(), Duration.between(Instant.now(), end));
+        }
+    }
+    
+    /**
+     * One actionability check; a document unloaded mid-check counts as a detached element
+     */
+    private static Result check(List<Object> args, int roundTrips) {
+        try {
+            return toResult(PageAgent.executeAsync(PageAgent.Op.ACTIONABILITY, args.toArray()), roundTrips);
+        } catch (WebDriverException e) {
+            if (!PageAgent.isDocumentChange(e)) {
+                throw e;
+            }
+            log.debug("Actionability check interrupted by navigation, re-checking on new document");
+            return new Result("detached", null, null, null, roundTrips);
+        }
+    }
+    
+    /**
+     * Block in the page until the failing precondition may have changed, instead of sleeping in Java.
+     * Returns the round trips spent waiting.
+     */
+    private static int waitForChange(By locator, String state, Duration remaining) {
+        DomWait.Condition condition = switch (state) {
+            case "detached" -> DomWait.Condition.PRESENT;
+            case "hidden" -> DomWait.Condition.VISIBLE;
+            case "disabled" -> DomWait.Condition.CLICKABLE;
+            default -> null;
+        };
+        if (condition == null) {
+            // Moving or covered element: the next check already spans two animation frames
+            AgentWait.sleep(Math.min(SETTLE_PAUSE_MS, config.getPollingInterval()));
+            return 0;
+        }
+        return DomWait.until(locator, condition, remaining).roundTrips();
+    }
+    
+    private static Map<String, Boolean> toFlags(Set<Check> checks) {
+        Map<String, Boolean> flags = new HashMap<>();
+        for (Check check : Check.values()) {
+            flags.put(check.name(), checks.contains(check));
+        }
+        return flags;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Result toResult(Object raw, int roundTrips) {
+        Map<String, Object> map = (Map<String, Object>) raw;
+        return new Result(
+                (String) map.get("state"),
+                (WebElement) map.get("element"),
+                (String) map.get("detail"),
+                (String) map.get("epoch"),
+                roundTrips);
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.automation.core.elements;
+
+import com.automation.core.config.ConfigManager;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Runs an in-page wait of the page agent for as long as the caller's timeout.
+ * Each call blocks in the page for at most one chunk below the script timeout and
+ * reports a state; "timeout" means the chunk ran out and the wait goes on. A navigation
+ * aborts the chunk and the wait resumes on the next document after a short poll.
+ */
+@Slf4j
+class AgentWait {
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final long SCRIPT_TIMEOUT_MARGIN_MS = 1000;
+    private static final Map<String, String> TIMED_OUT = Map.of("state", "timeout");
+    
+    /**
+     * One in-page wait bounded by the given budget
+     */
+    @FunctionalInterface
+    interface Chunk {
+        Object run(long budgetMillis);
+    }
+    
+    /**
+     * Last state reported by the page and the round trips it took
+     */
+    record Outcome(Map<?, ?> result, int roundTrips) {
+        
+        String state() {
+            return (String) result.get("state");
+        }
+        
+        boolean isOk() {
+            return "ok".equals(state());
+        }
+    }
+    
+    /**
+     * Run chunks until one reports a state other than "timeout" or the timeout expires
+     */
+    static Outcome run(String name, Duration timeout, Chunk chunk) {
+        long maxChunk = Math.max(100, config.getScriptTimeout() * 1000L - SCRIPT_TIMEOUT_MARGIN_MS);
+        Instant end = Instant.now().plus(timeout);
+        Map<?, ?> result = TIMED_OUT;
+        int roundTrips = 0;
+        do {
+            long budget = Math.max(0, Math.min(maxChunk, Duration.between(Instant.now(), end).toMillis()));
+            roundTrips++;
+            try {
+                result = (Map<?, ?>) chunk.run(budget);
+                if (!"timeout".equals(result.get("state"))) {
+                    return new Outcome(result, roundTrips);
+                }
+            } catch (WebDriverException e) {
+                if (!PageAgent.isDocumentChange(e)) {
+                    throw e;
+                }
+                log.debug("{} interrupted ({}), retrying on new document", name, e.getClass().getSimpleName());
+                sleep(Math.min(config.getPollingInterval(), Math.max(0, Duration.between(Instant.now(), end).toMillis())));
+            }
+        } while (Instant.now().isBefore(end));
+        return new Outcome(result, roundTrips);
+    }
+    
+    static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Wait interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.automation.core.elements;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+
+/**
+ * Event-driven element waits. A MutationObserver installed by an async page agent call
+ * resolves as soon as the DOM satisfies the condition, instead of polling over
+ * WebDriver every timeout.polling ms. Long waits run in chunks through AgentWait,
+ * resuming on the new document after a navigation. Visibility and enabled state use
+ * the agent's shared definitions, so waits agree with actionability checks and form fill.
+ */
+class DomWait {
+    
+    /**
+     * PRESENT_OR_SETTLED also ends, unsatisfied, once the page has settled without a match:
+     * the document is loaded and no fetch/XHR has run for arg1 ms
+     */
+    enum Condition { PRESENT, PRESENT_OR_SETTLED, ABSENT, VISIBLE, CLICKABLE, INVISIBLE, TEXT_PRESENT, ATTRIBUTE_CONTAINS }
+    
+    static final String SCRIPT =
+            "var using = arguments[0], value = arguments[1], condition = arguments[2];" +
+            "var arg1 = arguments[3], arg2 = arguments[4], budget = arguments[5];" +
+            "var reply = arguments[arguments.length - 1];" +
+            "function done(result) { result.epoch = epoch(); reply(result); }" +
+            "function evaluate() {" +
+            "  var el = findAll(using, value)[0];" +
+            "  switch (condition) {" +
+            "    case 'PRESENT': return el ? {state: 'ok', element: el} : null;" +
+            "    case 'PRESENT_OR_SETTLED':" +
+            "      if (el) { return {state: 'ok', element: el}; }" +
+            "      var tracker = window.__automationAgent.network;" +
+            "      return document.readyState === 'complete' && tracker.inflight === 0" +
+            "          && Date.now() - tracker.lastActivity >= Number(arg1) ? {state: 'settled'} : null;" +
+            "    case 'ABSENT': return !el ? {state: 'ok'} : null;" +
+            "    case 'VISIBLE': return el && visible(el) ? {state: 'ok', element: el} : null;" +
+            "    case 'CLICKABLE': return el && visible(el) && enabled(el) ? {state: 'ok', element: el} : null;" +
+            "    case 'INVISIBLE': return !el || !visible(el) ? {state: 'ok'} : null;" +
+            "    case 'TEXT_PRESENT':" +
+            "      return el && text(el).indexOf(arg1) >= 0 ? {state: 'ok', element: el} : null;" +
+            "    case 'ATTRIBUTE_CONTAINS':" +
+            "      var attr = el ? (el.getAttribute(arg1) || (el[arg1] != null ? String(el[arg1]) : '')) : '';" +
+            "      return el && attr.indexOf(arg2) >= 0 ? {state: 'ok', element: el} : null;" +
+            "  }" +
+            "  throw new Error('Unknown condition: ' + condition);" +
+            "}" +
+            "var first;" +
+            "try { first = evaluate(); } catch (e) { return done({state: 'error', detail: String(e)}); }" +
+            "if (first) { return done(first); }" +
+            "var finished = false, observer, timer, interval;" +
+            "function finish(result) {" +
+            "  if (finished) { return; }" +
+            "  finished = true;" +
+            "  observer.disconnect(); clearTimeout(timer); clearInterval(interval);" +
+            "  done(result);" +
+            "}" +
+            "function check() { if (!finished) { var result = evaluate(); if (result) { finish(result); } } }" +
+            "observer = new MutationObserver(check);" +
+            "observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});" +
+            // Layout-only changes (stylesheets, transitions) fire no mutations; re-check in page, no WebDriver traffic
+            "interval = setInterval(check, 100);" +
+            "timer = setTimeout(function () { finish({state: 'timeout'}); }, budget);";
+    
+    /**
+     * Outcome of a DOM wait
+     */
+    record Result(boolean satisfied, WebElement element, String epoch, int roundTrips) {
+    }
+    
+    /**
+     * Wait until the condition holds for the first element matching the locator
+     */
+    static Result until(By locator, Condition condition, Duration timeout, String... args) {
+        String using = (String) Locators.toScriptArgs(locator).get(0);
+        String value = (String) Locators.toScriptArgs(locator).get(1);
+        String arg1 = args.length > 0 ? args[0] : null;
+        String arg2 = args.length > 1 ? args[1] : null;
+        AgentWait.Outcome outcome = AgentWait.run("DOM wait", timeout, budget -> PageAgent.executeAsync(
+                PageAgent.Op.DOM_WAIT, using, value, condition.name(), arg1, arg2, budget));
+        if ("error".equals(outcome.state())) {
+            throw new IllegalArgumentException("Cannot wait for " + locator + ": " + outcome.result().get("detail"));
+        }
+        if (!outcome.isOk()) {
+            return new Result(false, null, null, outcome.roundTrips());
+        }
+        return new Result(true, (WebElement) outcome.result().get("element"), (String) outcome.result().get("epoch"),
+                outcome.roundTrips());
+    }
+}
@@ -0,0 +1,61 @@
+package com.automation.core.elements;
+
+import com.automation.core.config.ConfigManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * One shared WebDriverWait per driver, so elements do not allocate their own.
+ * Entries disappear once the driver is garbage collected.
+ * In implicit wait mode the implicit wait is suspended while an explicit wait
+ * or instant check runs, so the two never stack.
+ */
+class DriverWaits {
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Clock clock = Clock.systemDefaultZone();
+    private static final Map<WebDriver, WebDriverWait> waits = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    /**
+     * Get the default explicit wait for a driver
+     */
+    static WebDriverWait forDriver(WebDriver driver) {
+        return waits.computeIfAbsent(driver, key -> new WebDriverWait(
+                key,
+                Duration.ofSeconds(config.getExplicitTimeout()),
+                Duration.ofMillis(config.getPollingInterval()),
+                clock,
+                Sleeper.SYSTEM_SLEEPER));
+    }
+    
+    /**
+     * Run the shared explicit wait for a condition with the given timeout, without the implicit wait stacking on each poll
+     */
+    static <T> T until(WebDriver driver, ExpectedCondition<T> condition, Duration timeout) {
+        return withoutImplicitWait(driver, () -> forDriver(driver).withTimeout(timeout).until(condition));
+    }
+    
+    /**
+     * Run an action with the implicit wait at zero, restoring it afterwards in implicit wait mode
+     */
+    static <T> T withoutImplicitWait(WebDriver driver, Supplier<T> action) {
+        if (config.isFrameworkWaitMode() || config.getImplicitTimeout() == 0) {
+            return action.get();
+        }
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return action.get();
+        } finally {
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(config.getImplicitTimeout()));
+        }
+    }
+}
@@ -2,79 +2,186 @@ package com.automation.core.elements;
 
 import com.automation.core.browser.DriverManager;
 import com.automation.core.config.ConfigManager;
+import com.automation.core.utils.Deadline;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Enhanced WebElement wrapper with built-in waits and auto-retry capabilities.
  * Provides Playwright-like auto-waiting behavior for all element interactions.
+ * An Element is an immutable locator descriptor: it binds to the current thread's
+ * driver only when an action runs, so page objects can declare elements up front,
+ * cache them, or share them as static constants.
  */
 @Slf4j
 public class Element {
     
+    private static final ConfigManager config = ConfigManager.getInstance();
+    
     private final By locator;
     private final String elementName;
-    private final ConfigManager config;
-    private WebDriverWait wait;
+    private final boolean realKeystrokes;
     
     public Element(By locator, String elementName) {
+        this(locator, elementName, false);
+    }
+    
+    private Element(By locator, String elementName, boolean realKeystrokes) {
         this.locator = locator;
         this.elementName = elementName;
-        this.config = ConfigManager.getInstance();
-        initializeWait();
+        this.realKeystrokes = realKeystrokes;
     }
     
     public Element(By locator) {
         this(locator, locator.toString());
     }
     
-    private void initializeWait() {
-        WebDriver driver = DriverManager.getDriver();
-        this.wait = new WebDriverWait(
-                driver,
-                Duration.ofSeconds(config.getExplicitTimeout()),
-                Duration.ofMillis(config.getPollingInterval())
-        );
+    /**
+     * Copy of this element that {@link #fillForm(Map)} types key by key instead of setting
+     * its value by script, for fields that rely on key listeners
+     */
+    public Element withRealKeystrokes() {
+        return new Element(locator, elementName, true);
+    }
+    
+    /**
+     * Check if fillForm types this field key by key
+     */
+    public boolean usesRealKeystrokes() {
+        return realKeystrokes;
+    }
+    
+    /**
+     * Fill many fields at once: each run of consecutive scriptable fields is set in one
+     * round trip with input, change and blur events; fields marked withRealKeystrokes()
+     * are typed between those runs. Fields are filled in the map's iteration order, so
+     * pass a LinkedHashMap (not Map.of) when one field's events affect the next.
+     */
+    public static void fillForm(Map<Element, String> values) {
+        FormFill.fill(values);
+    }
+    
+    /**
+     * Explicit timeout, or what is left of the enclosing deadline if that is shorter
+     */
+    private Duration timeout() {
+        return Deadline.remaining(Duration.ofSeconds(config.getExplicitTimeout()));
+    }
+    
+    /**
+     * Run one composite action under a deadline covering all of its waits
+     */
+    private void inAction(String action, Runnable body) {
+        Deadline.run(action + " '" + elementName + "'", Duration.ofSeconds(config.getExplicitTimeout()), body);
+    }
+    
+    /**
+     * Run one composite action under a deadline covering all of its waits, returning its result
+     */
+    private <T> T inAction(String action, Supplier<T> body) {
+        return Deadline.call(action + " '" + elementName + "'", Duration.ofSeconds(config.getExplicitTimeout()), body);
+    }
+    
+    /**
+     * Shared explicit wait for the current thread's driver, never stacked with the implicit wait
+     */
+    private <T> T until(ExpectedCondition<T> condition) {
+        return DriverWaits.until(DriverManager.getDriver(), condition, timeout());
     }
     
     /**
      * Get the underlying WebElement with auto-wait for presence
      */
     private WebElement getElement() {
+        if (Locators.isScriptable(locator)) {
+            WebElement cached = ElementCache.get(DriverManager.getDriver(), locator);
+            if (cached != null) {
+                return cached;
+            }
+            DomWait.Result result = domWait(DomWait.Condition.PRESENT);
+            if (result.satisfied()) {
+                return result.element();
+            }
+            log.error("Element '{}' not found within {} seconds", elementName, config.getExplicitTimeout());
+            throw new NoSuchElementException("Element '" + elementName + "' not found: " + locator);
+        }
         try {
-            return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+            return until(ExpectedConditions.presenceOfElementLocated(locator));
         } catch (TimeoutException e) {
             log.error("Element '{}' not found within {} seconds", elementName, config.getExplicitTimeout());
             throw new NoSuchElementException("Element '" + elementName + "' not found: " + locator);
         }
     }
     
+    /**
+     * Run a WebElement call on the (possibly cached) element, finding it again once if the handle went stale
+     */
+    private <T> T withElement(Function<WebElement, T> action) {
+        try {
+            return action.apply(getElement());
+        } catch (StaleElementReferenceException e) {
+            log.debug("Cached handle of '{}' went stale, finding it again", elementName);
+            ElementCache.evict(DriverManager.getDriver(), locator);
+            return action.apply(getElement());
+        }
+    }
+    
+    /**
+     * Forget cached handles after an action that may have changed the DOM
+     */
+    private void domChanged() {
+        ElementCache.invalidate(DriverManager.getDriver());
+    }
+    
     /**
      * Get all matching elements
      */
     public List<WebElement> getElements() {
         try {
-            wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+            getElement();
             return DriverManager.getDriver().findElements(locator);
-        } catch (TimeoutException e) {
+        } catch (NoSuchElementException e) {
             log.error("Elements '{}' not found within {} seconds", elementName, config.getExplicitTimeout());
             throw new NoSuchElementException("Elements '" + elementName + "' not found: " + locator);
         }
     }
     
+    /**
+     * All elements matching this locator, for bulk reads in one script call
+     */
+    public ElementList all() {
+        return new ElementList(locator, elementName, null);
+    }
+    
+    /**
+     * Descendants of this element matching a locator, for bulk reads in one script call
+     */
+    public ElementList children(By childLocator) {
+        return new ElementList(childLocator, elementName + " > " + childLocator, locator);
+    }
+    
     /**
      * Wait for element to be visible
      */
     public Element waitForVisible() {
         try {
-            wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            if (Locators.isScriptable(locator)) {
+                requireDom(DomWait.Condition.VISIBLE);
+            } else {
+                until(ExpectedConditions.visibilityOfElementLocated(locator));
+            }
             log.debug("Element '{}' is visible", elementName);
         } catch (TimeoutException e) {
             log.error("Element '{}' not visible within {} seconds", elementName, config.getExplicitTimeout());
@@ -88,7 +195,11 @@ public class Element {
      */
     public Element waitForClickable() {
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(locator));
+            if (Locators.isScriptable(locator)) {
+                requireDom(DomWait.Condition.CLICKABLE);
+            } else {
+                until(ExpectedConditions.elementToBeClickable(locator));
+            }
             log.debug("Element '{}' is clickable", elementName);
         } catch (TimeoutException e) {
             log.error("Element '{}' not clickable within {} seconds", elementName, config.getExplicitTimeout());
@@ -102,7 +213,11 @@ public class Element {
      */
     public Element waitForInvisible() {
         try {
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            if (Locators.isScriptable(locator)) {
+                requireDom(DomWait.Condition.INVISIBLE);
+            } else {
+                until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            }
             log.debug("Element '{}' is invisible", elementName);
         } catch (TimeoutException e) {
             log.error("Element '{}' still visible after {} seconds", elementName, config.getExplicitTimeout());
@@ -112,12 +227,40 @@ public class Element {
     }
     
     /**
-     * Click with auto-wait for clickable
+     * Click with auto-wait for actionable (visible, enabled, stable and not obscured)
      */
     public void click() {
+        inAction("click", () -> {
+            if (!Locators.isScriptable(locator)) {
+                legacyClick();
+                return;
+            }
+            Actionability.Result result = awaitActionable(Actionability.CLICK);
+            if (!result.isActionable() && "obscured".equals(result.state())) {
+                log.warn("Element '{}' is {}, trying JavaScript click", elementName, result.describe());
+                jsClick(result.element());
+                return;
+            }
+            WebElement element = requireActionable(result, "click");
+            try {
+                element.click();
+                domChanged();
+                log.info("Clicked on element '{}' ({} round trips)", elementName, result.roundTrips() + 1);
+            } catch (ElementClickInterceptedException e) {
+                log.warn("Click intercepted, trying JavaScript click for '{}'", elementName);
+                jsClick(element);
+            }
+        });
+    }
+    
+    private void legacyClick() {
         try {
             waitForClickable();
-            getElement().click();
+            withElement(element -> {
+                element.click();
+                return null;
+            });
+            domChanged();
             log.info("Clicked on element '{}'", elementName);
         } catch (ElementClickInterceptedException e) {
             log.warn("Click intercepted, trying JavaScript click for '{}'", elementName);
@@ -129,8 +272,13 @@ public class Element {
      * Click using JavaScript
      */
     public void jsClick() {
+        jsClick(getElement());
+    }
+    
+    private void jsClick(WebElement element) {
         JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
-        js.executeScript("arguments[0].click();", getElement());
+        js.executeScript("arguments[0].click();", element);
+        domChanged();
         log.info("JavaScript clicked on element '{}'", elementName);
     }
     
@@ -138,75 +286,115 @@ public class Element {
      * Double click
      */
     public void doubleClick() {
-        waitForClickable();
-        Actions actions = new Actions(DriverManager.getDriver());
-        actions.doubleClick(getElement()).perform();
-        log.info("Double clicked on element '{}'", elementName);
+        inAction("double click", () -> {
+            waitForClickable();
+            Actions actions = new Actions(DriverManager.getDriver());
+            actions.doubleClick(getElement()).perform();
+            domChanged();
+            log.info("Double clicked on element '{}'", elementName);
+        });
     }
     
     /**
      * Right click (context click)
      */
     public void rightClick() {
-        waitForClickable();
-        Actions actions = new Actions(DriverManager.getDriver());
-        actions.contextClick(getElement()).perform();
-        log.info("Right clicked on element '{}'", elementName);
+        inAction("right click", () -> {
+            waitForClickable();
+            Actions actions = new Actions(DriverManager.getDriver());
+            actions.contextClick(getElement()).perform();
+            domChanged();
+            log.info("Right clicked on element '{}'", elementName);
+        });
     }
     
     /**
-     * Type text with auto-wait for visible
+     * Type text with auto-wait for visible and enabled
      */
     public void type(String text) {
-        waitForVisible();
-        WebElement element = getElement();
-        element.clear();
-        element.sendKeys(text);
-        log.info("Typed '{}' into element '{}'", text, elementName);
+        inAction("type", () -> {
+            if (!Locators.isScriptable(locator)) {
+                waitForVisible();
+                withElement(element -> {
+                    element.clear();
+                    element.sendKeys(text);
+                    return null;
+                });
+                domChanged();
+                log.info("Typed '{}' into element '{}'", text, elementName);
+                return;
+            }
+            Actionability.Result result = awaitActionable(Actionability.INPUT);
+            WebElement element = requireActionable(result, "type");
+            element.clear();
+            element.sendKeys(text);
+            domChanged();
+            log.info("Typed '{}' into element '{}' ({} round trips)", text, elementName, result.roundTrips() + 2);
+        });
     }
     
     /**
      * Type text without clearing existing text
      */
     public void append(String text) {
-        waitForVisible();
-        getElement().sendKeys(text);
-        log.info("Appended '{}' to element '{}'", text, elementName);
+        inAction("append", () -> {
+            waitForVisible();
+            withElement(element -> {
+                element.sendKeys(text);
+                return null;
+            });
+            domChanged();
+            log.info("Appended '{}' to element '{}'", text, elementName);
+        });
     }
     
     /**
      * Send keys (e.g., ENTER, TAB)
      */
     public void sendKeys(Keys key) {
-        waitForVisible();
-        getElement().sendKeys(key);
-        log.info("Sent key '{}' to element '{}'", key, elementName);
+        inAction("send keys", () -> {
+            waitForVisible();
+            withElement(element -> {
+                element.sendKeys(key);
+                return null;
+            });
+            domChanged();
+            log.info("Sent key '{}' to element '{}'", key, elementName);
+        });
     }
     
     /**
      * Clear element
      */
     public void clear() {
-        waitForVisible();
-        getElement().clear();
-        log.info("Cleared element '{}'", elementName);
+        inAction("clear", () -> {
+            waitForVisible();
+            withElement(element -> {
+                element.clear();
+                return null;
+            });
+            domChanged();
+            log.info("Cleared element '{}'", elementName);
+        });
     }
     
     /**
      * Get text with auto-wait
      */
     public String getText() {
-        waitForVisible();
-        String text = getElement().getText();
-        log.debug("Got text '{}' from element '{}'", text, elementName);
-        return text;
+        return inAction("get text", () -> {
+            waitForVisible();
+            String text = withElement(WebElement::getText);
+            log.debug("Got text '{}' from element '{}'", text, elementName);
+            return text;
+        });
     }
     
     /**
      * Get attribute value
      */
     public String getAttribute(String attributeName) {
-        String value = getElement().getAttribute(attributeName);
+        String value = withElement(element -> element.getAttribute(attributeName));
         log.debug("Got attribute '{}' = '{}' from element '{}'", attributeName, value, elementName);
         return value;
     }
@@ -215,7 +403,7 @@ public class Element {
      * Get CSS value
      */
     public String getCssValue(String propertyName) {
-        String value = getElement().getCssValue(propertyName);
+        String value = withElement(element -> element.getCssValue(propertyName));
         log.debug("Got CSS '{}' = '{}' from element '{}'", propertyName, value, elementName);
         return value;
     }
@@ -225,7 +413,7 @@ public class Element {
      */
     public boolean isDisplayed() {
         try {
-            boolean displayed = getElement().isDisplayed();
+            boolean displayed = withElement(WebElement::isDisplayed);
             log.debug("Element '{}' displayed: {}", elementName, displayed);
             return displayed;
         } catch (NoSuchElementException e) {
@@ -234,11 +422,68 @@ public class Element {
         }
     }
     
+    /**
+     * Check if element is present in the DOM right now, in one round trip and without waiting
+     */
+    public boolean isPresentNow() {
+        boolean present = Locators.isScriptable(locator)
+                ? checkNow(DomWait.Condition.PRESENT)
+                : !findNow().isEmpty();
+        log.debug("Element '{}' present now: {}", elementName, present);
+        return present;
+    }
+    
+    /**
+     * Check if element is displayed right now, in one round trip and without waiting
+     */
+    public boolean isDisplayedNow() {
+        boolean displayed;
+        if (Locators.isScriptable(locator)) {
+            displayed = checkNow(DomWait.Condition.VISIBLE);
+        } else {
+            List<WebElement> found = findNow();
+            displayed = !found.isEmpty() && found.get(0).isDisplayed();
+        }
+        log.debug("Element '{}' displayed now: {}", elementName, displayed);
+        return displayed;
+    }
+    
+    /**
+     * Wait up to the given timeout for the element to leave the DOM; returns false if it is still present
+     */
+    public boolean isAbsent(Duration timeout) {
+        boolean absent;
+        if (Locators.isScriptable(locator)) {
+            absent = domWait(DomWait.Condition.ABSENT, timeout).satisfied();
+        } else {
+            WebDriver driver = DriverManager.getDriver();
+            absent = DriverWaits.withoutImplicitWait(driver, () -> {
+                try {
+                    new WebDriverWait(driver, timeout).until(ExpectedConditions.numberOfElementsToBe(locator, 0));
+                    return true;
+                } catch (TimeoutException e) {
+                    return false;
+                }
+            });
+        }
+        log.debug("Element '{}' absent: {}", elementName, absent);
+        return absent;
+    }
+    
+    private boolean checkNow(DomWait.Condition condition) {
+        return domWait(condition, Duration.ZERO).satisfied();
+    }
+    
+    private List<WebElement> findNow() {
+        WebDriver driver = DriverManager.getDriver();
+        return DriverWaits.withoutImplicitWait(driver, () -> driver.findElements(locator));
+    }
+    
     /**
      * Check if element is enabled
      */
     public boolean isEnabled() {
-        boolean enabled = getElement().isEnabled();
+        boolean enabled = withElement(WebElement::isEnabled);
         log.debug("Element '{}' enabled: {}", elementName, enabled);
         return enabled;
     }
@@ -247,19 +492,31 @@ public class Element {
      * Check if element is selected (for checkboxes and radio buttons)
      */
     public boolean isSelected() {
-        boolean selected = getElement().isSelected();
+        boolean selected = withElement(WebElement::isSelected);
         log.debug("Element '{}' selected: {}", elementName, selected);
         return selected;
     }
     
     /**
-     * Hover over element
+     * Hover over element once it is visible and stable
      */
     public void hover() {
-        waitForVisible();
-        Actions actions = new Actions(DriverManager.getDriver());
-        actions.moveToElement(getElement()).perform();
-        log.info("Hovered over element '{}'", elementName);
+        inAction("hover", () -> {
+            WebElement element;
+            int roundTrips = 1;
+            if (Locators.isScriptable(locator)) {
+                Actionability.Result result = awaitActionable(Actionability.HOVER);
+                element = requireActionable(result, "hover");
+                roundTrips += result.roundTrips();
+            } else {
+                waitForVisible();
+                element = getElement();
+            }
+            Actions actions = new Actions(DriverManager.getDriver());
+            actions.moveToElement(element).perform();
+            domChanged();
+            log.info("Hovered over element '{}' ({} round trips)", elementName, roundTrips);
+        });
     }
     
     /**
@@ -275,9 +532,9 @@ public class Element {
      * Select dropdown option by visible text
      */
     public void selectByText(String text) {
-        waitForVisible();
-        Select select = new Select(getElement());
+        Select select = new Select(actionableForInput("select"));
         select.selectByVisibleText(text);
+        domChanged();
         log.info("Selected option '{}' from dropdown '{}'", text, elementName);
     }
     
@@ -285,9 +542,9 @@ public class Element {
      * Select dropdown option by value
      */
     public void selectByValue(String value) {
-        waitForVisible();
-        Select select = new Select(getElement());
+        Select select = new Select(actionableForInput("select"));
         select.selectByValue(value);
+        domChanged();
         log.info("Selected value '{}' from dropdown '{}'", value, elementName);
     }
     
@@ -295,9 +552,9 @@ public class Element {
      * Select dropdown option by index
      */
     public void selectByIndex(int index) {
-        waitForVisible();
-        Select select = new Select(getElement());
+        Select select = new Select(actionableForInput("select"));
         select.selectByIndex(index);
+        domChanged();
         log.info("Selected index '{}' from dropdown '{}'", index, elementName);
     }
     
@@ -305,16 +562,21 @@ public class Element {
      * Get all selected options from dropdown
      */
     public List<WebElement> getAllSelectedOptions() {
-        Select select = new Select(getElement());
-        return select.getAllSelectedOptions();
+        return withElement(element -> new Select(element).getAllSelectedOptions());
+    }
+    
+    /**
+     * Get the text of every dropdown option in one round trip
+     */
+    public List<String> getOptionTexts() {
+        return children(By.tagName("option")).texts();
     }
     
     /**
      * Get all options from dropdown
      */
     public List<WebElement> getAllOptions() {
-        Select select = new Select(getElement());
-        return select.getOptions();
+        return withElement(element -> new Select(element).getOptions());
     }
     
     /**
@@ -322,7 +584,11 @@ public class Element {
      */
     public Element waitForText(String text) {
         try {
-            wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+            if (Locators.isScriptable(locator)) {
+                requireDom(DomWait.Condition.TEXT_PRESENT, text);
+            } else {
+                until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+            }
             log.debug("Text '{}' present in element '{}'", text, elementName);
         } catch (TimeoutException e) {
             log.error("Text '{}' not present in element '{}' within {} seconds", 
@@ -337,7 +603,11 @@ public class Element {
      */
     public Element waitForAttributeContains(String attribute, String value) {
         try {
-            wait.until(ExpectedConditions.attributeContains(locator, attribute, value));
+            if (Locators.isScriptable(locator)) {
+                requireDom(DomWait.Condition.ATTRIBUTE_CONTAINS, attribute, value);
+            } else {
+                until(ExpectedConditions.attributeContains(locator, attribute, value));
+            }
             log.debug("Attribute '{}' contains '{}' in element '{}'", attribute, value, elementName);
         } catch (TimeoutException e) {
             log.error("Attribute '{}' doesn't contain '{}' in element '{}' within {} seconds",
@@ -347,6 +617,74 @@ public class Element {
         return this;
     }
     
+    /**
+     * Event-driven wait for a DOM condition, bounded by the explicit timeout
+     */
+    private DomWait.Result domWait(DomWait.Condition condition, String... args) {
+        return domWait(condition, timeout(), args);
+    }
+    
+    /**
+     * Event-driven wait for a DOM condition; the handle and epoch it reports feed the element cache
+     */
+    private DomWait.Result domWait(DomWait.Condition condition, Duration timeout, String... args) {
+        DomWait.Result result = DomWait.until(locator, condition, timeout, args);
+        WebDriver driver = DriverManager.getDriver();
+        if (result.element() != null) {
+            ElementCache.put(driver, locator, result.element(), result.epoch());
+        } else {
+            ElementCache.observe(driver, result.epoch());
+        }
+        return result;
+    }
+    
+    /**
+     * Event-driven wait that throws TimeoutException when the condition is not met
+     */
+    private void requireDom(DomWait.Condition condition, String... args) {
+        DomWait.Result result = domWait(condition, args);
+        if (!result.satisfied()) {
+            String scope = Deadline.currentName() != null ? " during " + Deadline.currentName() : "";
+            throw new TimeoutException(condition + " not met for " + locator + scope
+                    + " after " + result.roundTrips() + " round trip(s)");
+        }
+    }
+    
+    /**
+     * Run the single-round-trip actionability check until it passes or the explicit timeout expires
+     */
+    private Actionability.Result awaitActionable(Set<Actionability.Check> checks) {
+        Actionability.Result result = Actionability.await(locator, checks, timeout());
+        ElementCache.put(DriverManager.getDriver(), locator, result.element(), result.epoch());
+        return result;
+    }
+    
+    /**
+     * Return the element handle of a passed check, or fail with the reason and round trip count
+     */
+    private WebElement requireActionable(Actionability.Result result, String action) {
+        if (!result.isActionable()) {
+            log.error("Element '{}' not ready to {}: {}", elementName, action, result.describe());
+            throw new TimeoutException("Element '" + elementName + "' not ready to " + action + ": "
+                    + locator + " - " + result.describe());
+        }
+        return result.element();
+    }
+    
+    /**
+     * Handle of a visible, enabled element for input-style actions
+     */
+    private WebElement actionableForInput(String action) {
+        if (!Locators.isScriptable(locator)) {
+            waitForVisible();
+            return getElement();
+        }
+        Actionability.Result result = awaitActionable(Actionability.INPUT);
+        WebElement element = requireActionable(result, action);
+        log.debug("Element '{}' ready to {} after {} round trip(s)", elementName, action, result.roundTrips());
+        return element;
+    }
+    
     /**
      * Get the locator
      */
@@ -0,0 +1,169 @@
+package com.automation.core.elements;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-driver cache of resolved element handles, keyed by locator.
+ * Every in-page script reports the document's mutation epoch (document id plus a
+ * counter bumped by a MutationObserver on structural changes). A handle is served only
+ * after one cheap agent call confirms the current document's epoch is still the one it
+ * was found in, so in-page insertions, navigations and frame switches (another document,
+ * another id) all count as a miss. An interaction driven by the framework empties the
+ * cache as well. Handles that still go stale are evicted by the caller on
+ * StaleElementReferenceException.
+ */
+@Slf4j
+public class ElementCache {
+    
+    /**
+     * Agent command returning the current document's mutation epoch
+     */
+    static final String EPOCH_SCRIPT = "return epoch();";
+    
+    private static final Map<WebDriver, DriverEntries> caches = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    
+    /**
+     * Cached handle for a locator if the page is still in the epoch it was found in, or null if it must be found again
+     */
+    static WebElement get(WebDriver driver, By locator) {
+        DriverEntries entries = caches.get(driver);
+        WebElement element = entries == null ? null : entries.get(locator);
+        if (element != null) {
+            String current = currentEpoch();
+            if (current == null) {
+                entries.clear();
+                element = null;
+            } else {
+                entries.observe(current);
+                element = entries.get(locator);
+            }
+        }
+        (element == null ? misses : hits).incrementAndGet();
+        return element;
+    }
+    
+    /**
+     * Epoch of the current thread's document, or null if the document went away mid-call
+     */
+    private static String currentEpoch() {
+        try {
+            return (String) PageAgent.execute(PageAgent.Op.EPOCH);
+        } catch (WebDriverException e) {
+            if (!PageAgent.isDocumentChange(e)) {
+                throw e;
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * Remember a handle found by a script that reported the given epoch
+     */
+    static void put(WebDriver driver, By locator, WebElement element, String epoch) {
+        if (element == null || epoch == null) {
+            return;
+        }
+        caches.computeIfAbsent(driver, key -> new DriverEntries()).put(locator, element, epoch);
+    }
+    
+    /**
+     * Record the epoch reported by a script that found no element, dropping handles from older epochs
+     */
+    static void observe(WebDriver driver, String epoch) {
+        DriverEntries entries = caches.get(driver);
+        if (entries != null && epoch != null) {
+            entries.observe(epoch);
+        }
+    }
+    
+    /**
+     * Drop one locator, e.g. after its handle went stale
+     */
+    static void evict(WebDriver driver, By locator) {
+        DriverEntries entries = caches.get(driver);
+        if (entries != null) {
+            entries.evict(locator);
+        }
+    }
+    
+    /**
+     * Drop every handle of a driver after a navigation or an action that may change the DOM
+     */
+    public static void invalidate(WebDriver driver) {
+        DriverEntries entries = caches.get(driver);
+        if (entries != null) {
+            entries.clear();
+        }
+    }
+    
+    /**
+     * Lookups answered from the cache, i.e. element finds replaced by an epoch check
+     */
+    public static long hitCount() {
+        return hits.get();
+    }
+    
+    /**
+     * Lookups that had to find the element
+     */
+    public static long missCount() {
+        return misses.get();
+    }
+    
+    /**
+     * Hit and miss counters as a one-line summary
+     */
+    public static String summary() {
+        long hit = hits.get();
+        long total = hit + misses.get();
+        return String.format("hits=%d misses=%d hitRate=%d%%", hit, total - hit, total == 0 ? 0 : hit * 100 / total);
+    }
+    
+    /**
+     * Handles of one driver, all belonging to the same epoch
+     */
+    private static final class DriverEntries {
+        private final Map<By, WebElement> elements = new HashMap<>();
+        private String epoch;
+        
+        private synchronized WebElement get(By locator) {
+            return elements.get(locator);
+        }
+        
+        private synchronized void put(By locator, WebElement element, String reportedEpoch) {
+            observe(reportedEpoch);
+            elements.put(locator, element);
+        }
+        
+        private synchronized void observe(String reportedEpoch) {
+            if (!reportedEpoch.equals(epoch)) {
+                if (!elements.isEmpty()) {
+                    log.trace("DOM epoch changed {} -> {}, dropping {} cached element(s)", epoch, reportedEpoch, elements.size());
+                }
+                elements.clear();
+                epoch = reportedEpoch;
+            }
+        }
+        
+        private synchronized void evict(By locator) {
+            elements.remove(locator);
+        }
+        
+        private synchronized void clear() {
+            elements.clear();
+            epoch = null;
+        }
+    }
+}
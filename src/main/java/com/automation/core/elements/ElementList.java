@@ -0,0 +1,206 @@
+package com.automation.core.elements;
+
+import com.automation.core.browser.DriverManager;
+import com.automation.core.config.ConfigManager;
+import com.automation.core.utils.Deadline;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All elements matching a locator, read in bulk.
+ * Text, attributes, CSS properties, bounding boxes and per-row column texts of
+ * every match come back from a single executeScript call, instead of one
+ * getText/getAttribute round trip per element and field.
+ * Reads wait (event-driven) for at least one match. A list that is legitimately empty
+ * is returned as soon as the page has settled without a match (document loaded, no
+ * fetch/XHR for wait.network.quiet ms), or at the latest when the explicit timeout passes.
+ */
+@Slf4j
+public class ElementList {
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    
+    static final String SCRIPT =
+            "var using = arguments[0], value = arguments[1], scope = arguments[2];" +
+            "var attributes = arguments[3], cssProperties = arguments[4], columns = arguments[5];" +
+            "var root = document;" +
+            "if (scope) { root = findAll(scope[0], scope[1])[0]; if (!root) { return []; } }" +
+            "return findAll(using, value, root).map(function (el) {" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  var style = getComputedStyle(el);" +
+            "  var item = {" +
+            "    text: text(el)," +
+            "    x: Math.round(rect.left + window.scrollX), y: Math.round(rect.top + window.scrollY)," +
+            "    width: Math.round(rect.width), height: Math.round(rect.height)," +
+            "    displayed: visible(el)," +
+            "    attributes: {}, css: {}, columns: {}" +
+            "  };" +
+            "  attributes.forEach(function (name) {" +
+            "    var attr = el.getAttribute(name);" +
+            "    item.attributes[name] = attr !== null ? attr : (el[name] != null ? String(el[name]) : null);" +
+            "  });" +
+            "  cssProperties.forEach(function (name) { item.css[name] = style.getPropertyValue(name); });" +
+            "  Object.keys(columns).forEach(function (key) {" +
+            "    item.columns[key] = text(findAll(columns[key][0], columns[key][1], el)[0]);" +
+            "  });" +
+            "  return item;" +
+            "});";
+    
+    private final By locator;
+    private final String listName;
+    private final By scope;
+    
+    ElementList(By locator, String listName, By scope) {
+        this.locator = locator;
+        this.listName = listName;
+        this.scope = scope;
+    }
+    
+    /**
+     * Snapshot of one matched element
+     */
+    public record Item(String text,
+                       Map<String, String> attributes,
+                       Map<String, String> css,
+                       Map<String, String> columns,
+                       Rectangle rect,
+                       boolean displayed) {
+    }
+    
+    /**
+     * Text, the given attributes and CSS properties, and bounding box of every match
+     */
+    public List<Item> read(Collection<String> attributes, Collection<String> cssProperties) {
+        return query(attributes, cssProperties, Map.of());
+    }
+    
+    /**
+     * One map per match holding the text of the first element found by each column locator inside it,
+     * e.g. rows of a product grid read as {name: ..., price: ...}
+     */
+    public List<Map<String, String>> readColumns(Map<String, By> columns) {
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (Item item : query(List.of(), List.of(), columns)) {
+            rows.add(item.columns());
+        }
+        return rows;
+    }
+    
+    /**
+     * Visible text of every match
+     */
+    public List<String> texts() {
+        List<String> texts = new ArrayList<>();
+        for (Item item : query(List.of(), List.of(), Map.of())) {
+            texts.add(item.text());
+        }
+        return texts;
+    }
+    
+    /**
+     * One attribute of every match
+     */
+    public List<String> attribute(String name) {
+        List<String> values = new ArrayList<>();
+        for (Item item : query(List.of(name), List.of(), Map.of())) {
+            values.add(item.attributes().get(name));
+        }
+        return values;
+    }
+    
+    /**
+     * Number of matches
+     */
+    public int count() {
+        return query(List.of(), List.of(), Map.of()).size();
+    }
+    
+    private List<Item> query(Collection<String> attributes, Collection<String> cssProperties, Map<String, By> columns) {
+        if (!Locators.isScriptable(locator) || (scope != null && !Locators.isScriptable(scope))
+                || !columns.values().stream().allMatch(Locators::isScriptable)) {
+            return readOneByOne(attributes, cssProperties, columns);
+        }
+        List<Item> items = runScript(attributes, cssProperties, columns);
+        if (items.isEmpty()) {
+            // Nothing rendered yet: wait in the page for the first match or for the page to settle, then read once more
+            Duration timeout = Deadline.remaining(Duration.ofSeconds(config.getExplicitTimeout()));
+            if (DomWait.until(scope != null ? scope : locator, DomWait.Condition.PRESENT_OR_SETTLED, timeout,
+                    String.valueOf(config.getNetworkQuietPeriod())).satisfied()) {
+                items = runScript(attributes, cssProperties, columns);
+            }
+        }
+        log.debug("Read {} element(s) of '{}' in one script call", items.size(), listName);
+        return items;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<Item> runScript(Collection<String> attributes, Collection<String> cssProperties, Map<String, By> columns) {
+        Map<String, List<Object>> columnArgs = new LinkedHashMap<>();
+        columns.forEach((key, by) -> columnArgs.put(key, Locators.toScriptArgs(by)));
+        List<Map<String, Object>> raw = (List<Map<String, Object>>) PageAgent.execute(PageAgent.Op.READ_LIST,
+                Locators.toScriptArgs(locator).get(0),
+                Locators.toScriptArgs(locator).get(1),
+                scope != null ? Locators.toScriptArgs(scope) : null,
+                new ArrayList<>(attributes),
+                new ArrayList<>(cssProperties),
+                columnArgs);
+        
+        List<Item> items = new ArrayList<>();
+        for (Map<String, Object> map : raw) {
+            items.add(new Item(
+                    (String) map.get("text"),
+                    toStringMap(map.get("attributes")),
+                    toStringMap(map.get("css")),
+                    toStringMap(map.get("columns")),
+                    new Rectangle(toInt(map.get("x")), toInt(map.get("y")), toInt(map.get("height")), toInt(map.get("width"))),
+                    Boolean.TRUE.equals(map.get("displayed"))));
+        }
+        return items;
+    }
+    
+    /**
+     * Fallback for locators that cannot run inside a script: one round trip per element and field
+     */
+    private List<Item> readOneByOne(Collection<String> attributes, Collection<String> cssProperties, Map<String, By> columns) {
+        WebDriver driver = DriverManager.getDriver();
+        SearchContext root = scope != null ? driver.findElement(scope) : driver;
+        List<Item> items = new ArrayList<>();
+        for (WebElement element : root.findElements(locator)) {
+            Map<String, String> attributeValues = new LinkedHashMap<>();
+            attributes.forEach(name -> attributeValues.put(name, element.getAttribute(name)));
+            Map<String, String> cssValues = new LinkedHashMap<>();
+            cssProperties.forEach(name -> cssValues.put(name, element.getCssValue(name)));
+            Map<String, String> columnValues = new LinkedHashMap<>();
+            columns.forEach((key, by) -> {
+                List<WebElement> cell = element.findElements(by);
+                columnValues.put(key, cell.isEmpty() ? null : cell.get(0).getText());
+            });
+            items.add(new Item(element.getText(), attributeValues, cssValues, columnValues,
+                    element.getRect(), element.isDisplayed()));
+        }
+        return items;
+    }
+    
+    private static Map<String, String> toStringMap(Object raw) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (raw instanceof Map<?, ?> map) {
+            map.forEach((key, value) -> result.put(String.valueOf(key), value == null ? null : String.valueOf(value)));
+        }
+        return result;
+    }
+    
+    private static int toInt(Object raw) {
+        return raw instanceof Number number ? number.intValue() : 0;
+    }
+}
@@ -0,0 +1,137 @@
+package com.automation.core.elements;
+
+import com.automation.core.browser.DriverManager;
+import com.automation.core.config.ConfigManager;
+import com.automation.core.utils.Deadline;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-field form fill in as few page agent calls as possible, in the map's order.
+ * Consecutive scriptable fields form one batch; every field of a batch is located and
+ * checked (visible, enabled) before any value is written, so a batch is either filled
+ * completely or not at all. Values are written through the native value setter, so
+ * framework-controlled inputs (React, Angular) see the change, followed by input, change
+ * and blur events. Checkboxes and radios take "true"/"false", selects match an option value
+ * or its text. The one exception to all-or-nothing is a select without a matching option:
+ * the batch stops there and the rest is retried, as its options may depend on an earlier
+ * field, and it fails with the field's name once the timeout passes. Fields marked
+ * with {@link Element#withRealKeystrokes()} are typed key by key between the batches.
+ */
+@Slf4j
+class FormFill {
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    
+    static final String SCRIPT =
+            "var fields = arguments[0];" +
+            "var targets = [];" +
+            "for (var i = 0; i < fields.length; i++) {" +
+            "  var el = findAll(fields[i][0], fields[i][1])[0];" +
+            "  if (!el) { return {state: 'detached', index: i}; }" +
+            "  if (!visible(el)) { return {state: 'hidden', index: i}; }" +
+            "  if (!enabled(el)) { return {state: 'disabled', index: i}; }" +
+            "  targets.push(el);" +
+            "}" +
+            "function setNativeValue(el, value) {" +
+            "  var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype" +
+            "      : el instanceof HTMLSelectElement ? HTMLSelectElement.prototype : HTMLInputElement.prototype;" +
+            "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);" +
+            "}" +
+            "for (var j = 0; j < targets.length; j++) {" +
+            "  var target = targets[j], value = fields[j][2];" +
+            "  if (target instanceof HTMLSelectElement) {" +
+            "    var option = Array.from(target.options).find(function (o) { return o.value === value; })" +
+            "        || Array.from(target.options).find(function (o) { return o.text.trim() === value; });" +
+            "    if (!option) { return {state: 'no-option', index: j}; }" +
+            "    value = option.value;" +
+            "  }" +
+            "  target.focus();" +
+            "  if (target.type === 'checkbox' || target.type === 'radio') {" +
+            "    if (target.checked !== (value === 'true')) { target.click(); }" +
+            "  } else if (target.isContentEditable) {" +
+            "    target.textContent = value;" +
+            "    target.dispatchEvent(new InputEvent('input', {bubbles: true, inputType: 'insertText', data: value}));" +
+            "  } else {" +
+            "    setNativeValue(target, value);" +
+            "    target.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "    target.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "  }" +
+            "  target.blur();" +
+            "}" +
+            "return {state: 'ok', filled: targets.length};";
+    
+    /**
+     * Fill all fields in the map's order, batching each run of consecutive scriptable fields into one call
+     */
+    static void fill(Map<Element, String> values) {
+        try (Deadline deadline = Deadline.start("fill form", Duration.ofSeconds(config.getExplicitTimeout()))) {
+            List<Element> batch = new ArrayList<>();
+            for (Map.Entry<Element, String> entry : values.entrySet()) {
+                Element element = entry.getKey();
+                if (element.usesRealKeystrokes() || !Locators.isScriptable(element.getLocator())) {
+                    fillBatch(batch, values, deadline);
+                    batch.clear();
+                    element.type(entry.getValue());
+                } else {
+                    batch.add(element);
+                }
+            }
+            fillBatch(batch, values, deadline);
+        }
+    }
+    
+    /**
+     * Run the fill script, waiting for the first field that is not ready and retrying until all are
+     */
+    private static void fillBatch(List<Element> batch, Map<Element, String> values, Deadline deadline) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Element> pending = new ArrayList<>(batch);
+        int roundTrips = 0;
+        while (true) {
+            roundTrips++;
+            List<Object> fieldArgs = new ArrayList<>();
+            for (Element element : pending) {
+                List<Object> field = new ArrayList<>(Locators.toScriptArgs(element.getLocator()));
+                String value = values.get(element);
+                field.add(value == null ? "" : value);
+                fieldArgs.add(field);
+            }
+            Map<?, ?> result = (Map<?, ?>) PageAgent.execute(PageAgent.Op.FILL_FORM, fieldArgs);
+            if ("ok".equals(result.get("state"))) {
+                ElementCache.invalidate(DriverManager.getDriver());
+                log.info("Filled {} field(s) in {} round trip(s)", batch.size(), roundTrips);
+                return;
+            }
+            int index = ((Number) result.get("index")).intValue();
+            Element blocking = pending.get(index);
+            if ("no-option".equals(result.get("state"))) {
+                // Fields ahead of the select are filled; its options may still be loading
+                ElementCache.invalidate(DriverManager.getDriver());
+                pending = new ArrayList<>(pending.subList(index, pending.size()));
+                if (deadline.isExpired()) {
+                    throw new NoSuchElementException("Form field '" + blocking.getElementName()
+                            + "' has no option matching '" + values.get(blocking) + "'");
+                }
+                log.debug("Form field '{}' has no option '{}' yet, waiting for it", blocking.getElementName(),
+                        values.get(blocking));
+                AgentWait.sleep(config.getPollingInterval());
+                continue;
+            }
+            if (deadline.isExpired()) {
+                throw new TimeoutException("Form field '" + blocking.getElementName() + "' is " + result.get("state")
+                        + " after " + roundTrips + " round trip(s)");
+            }
+            log.debug("Form field '{}' is {}, waiting for it", blocking.getElementName(), result.get("state"));
+            blocking.waitForClickable();
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.automation.core.elements;
+
+import com.automation.core.browser.DriverManager;
+import com.automation.core.config.ConfigManager;
+import com.automation.core.utils.Deadline;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams the rows of a table, grid or repeated-card list as typed objects.
+ * Each row is located by the row locator; each field is the text of the first
+ * element matching a column locator inside the row. Rows are read in batches of
+ * grid.batch.size per script call and handed out lazily, so memory stays flat
+ * however large the grid is. Further rows are reached by clicking a next-page
+ * control or by scrolling a virtualized list's viewport.
+ *
+ * <pre>
+ * GridReader.forRecord(By.cssSelector("tr.order"), Order.class)
+ *         .column("id", By.cssSelector("td.id"))
+ *         .column("total", By.cssSelector("td.total"))
+ *         .nextPage(By.cssSelector("button.next"))
+ *         .stream()
+ *         .filter(order -> order.total() > 100)
+ *         ...
+ * </pre>
+ */
+@Slf4j
+public class GridReader<T> {
+    
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final String KEY_SEPARATOR = "\u001f";
+    
+    /**
+     * JavaScript function identifying the rows on a page: each row's key attribute or
+     * aria-rowindex, or its text when it has neither
+     */
+    private static final String SIGNATURE_FUNCTION =
+            "function signature(rows, keyAttribute) {" +
+            "  return rows.map(function (row) {" +
+            "    if (keyAttribute) { return row.getAttribute(keyAttribute); }" +
+            "    return row.hasAttribute('aria-rowindex') ? 'row:' + row.getAttribute('aria-rowindex') : text(row);" +
+            "  }).join('\\u001f');" +
+            "}";
+    
+    static final String READ_SCRIPT =
+            SIGNATURE_FUNCTION +
+            "var rowLocator = arguments[0], columns = arguments[1], keyAttribute = arguments[2];" +
+            "var start = arguments[3], limit = arguments[4], next = arguments[5], viewportLocator = arguments[6];" +
+            "var viewport = viewportLocator ? findAll(viewportLocator[0], viewportLocator[1])[0] : null;" +
+            "var viewportTop = viewport ? viewport.getBoundingClientRect().top : 0;" +
+            "function key(row) {" +
+            "  if (keyAttribute) { return row.getAttribute(keyAttribute); }" +
+            "  if (row.hasAttribute('aria-rowindex')) { return 'row:' + row.getAttribute('aria-rowindex'); }" +
+            "  if (viewport) { return 'y:' + Math.round(row.getBoundingClientRect().top - viewportTop + viewport.scrollTop); }" +
+            "  return null;" +
+            "}" +
+            "var all = findAll(rowLocator[0], rowLocator[1]);" +
+            "var rows = all.slice(start, start + limit).map(function (row) {" +
+            "  var values = {};" +
+            "  Object.keys(columns).forEach(function (key) {" +
+            "    values[key] = text(findAll(columns[key][0], columns[key][1], row)[0]);" +
+            "  });" +
+            "  return {key: key(row), values: values};" +
+            "});" +
+            "var hasNext = false;" +
+            "if (next) {" +
+            "  var button = findAll(next[0], next[1])[0];" +
+            "  hasNext = !!button && !button.disabled && button.getAttribute('aria-disabled') !== 'true'" +
+            "      && !/\\bdisabled\\b/.test(button.className);" +
+            "}" +
+            "return {rows: rows, total: all.length, hasNext: hasNext, signature: signature(all, keyAttribute)};";
+    
+    /**
+     * Wait until the rows' signature differs from the given one (a new page has rendered),
+     * so consecutive pages starting with the same row are still told apart
+     */
+    static final String PAGE_CHANGE_SCRIPT =
+            SIGNATURE_FUNCTION +
+            "var rowLocator = arguments[0], keyAttribute = arguments[1], previous = arguments[2], budget = arguments[3];" +
+            "var done = arguments[arguments.length - 1];" +
+            "function changed() {" +
+            "  var rows = findAll(rowLocator[0], rowLocator[1]);" +
+            "  return rows.length > 0 && signature(rows, keyAttribute) !== previous;" +
+            "}" +
+            "if (changed()) { return done({state: 'ok'}); }" +
+            "var observer = new MutationObserver(function () {" +
+            "  if (changed()) { observer.disconnect(); clearTimeout(timer); done({state: 'ok'}); }" +
+            "});" +
+            "observer.observe(document, {subtree: true, childList: true, characterData: true});" +
+            "var timer = setTimeout(function () { observer.disconnect(); done({state: 'timeout'}); }, budget);";
+    
+    /**
+     * Scroll the viewport by most of its height and wait for the list to re-render:
+     * "ok" once it has, "end" when the viewport could not move any further, "timeout"
+     * when it moved but nothing changed within the budget (rows already rendered as
+     * overscan, a list that is not virtualized, or a short final scroll).
+     */
+    static final String SCROLL_SCRIPT =
+            "var viewportLocator = arguments[0], budget = arguments[1];" +
+            "var done = arguments[arguments.length - 1];" +
+            "var viewport = findAll(viewportLocator[0], viewportLocator[1])[0];" +
+            "if (!viewport) { return done({state: 'end'}); }" +
+            "var before = viewport.scrollTop;" +
+            "viewport.scrollTop = before + Math.max(1, Math.floor(viewport.clientHeight * 0.9));" +
+            "if (viewport.scrollTop <= before) { return done({state: 'end'}); }" +
+            "var finished = false;" +
+            "function finish(state) {" +
+            "  if (finished) { return; }" +
+            "  finished = true; observer.disconnect(); clearTimeout(timer);" +
+            "  requestAnimationFrame(function () { requestAnimationFrame(function () { done({state: state}); }); });" +
+            "}" +
+            "var observer = new MutationObserver(function () { finish('ok'); });" +
+            "observer.observe(viewport, {subtree: true, childList: true, characterData: true, attributes: true});" +
+            "var timer = setTimeout(function () { finish('timeout'); }, budget);";
+    
+    private final By rowLocator;
+    private final Function<Map<String, String>, T> mapper;
+    private final Map<String, By> columns = new LinkedHashMap<>();
+    private String keyAttribute;
+    private By nextPage;
+    private By viewport;
+    private int batchSize = config.getGridBatchSize();
+    
+    private GridReader(By rowLocator, Function<Map<String, String>, T> mapper) {
+        this.rowLocator = rowLocator;
+        this.mapper = mapper;
+    }
+    
+    /**
+     * Reader mapping each row's column texts with a custom function
+     */
+    public static <T> GridReader<T> of(By rowLocator, Function<Map<String, String>, T> mapper) {
+        return new GridReader<>(rowLocator, mapper);
+    }
+    
+    /**
+     * Reader mapping each row to a record whose component names match the column names.
+     * Components may be String, int, long, double or boolean; numeric text is parsed
+     * after stripping currency symbols and separators.
+     */
+    public static <R extends Record> GridReader<R> forRecord(By rowLocator, Class<R> recordType) {
+        return new GridReader<>(rowLocator, recordMapper(recordType));
+    }
+    
+    /**
+     * Add a column: the text of the first element matching the locator inside a row
+     */
+    public GridReader<T> column(String name, By cellLocator) {
+        columns.put(name, cellLocator);
+        return this;
+    }
+    
+    /**
+     * Row attribute identifying a row (e.g. data-id), used to skip rows read twice while
+     * scrolling. Defaults to aria-rowindex when rows carry it, otherwise to the row's offset
+     * in the scrolled content, so identical rows are still read once each.
+     */
+    public GridReader<T> keyAttribute(String attribute) {
+        this.keyAttribute = attribute;
+        return this;
+    }
+    
+    /**
+     * Paginated grid: click this control to reach the next page
+     */
+    public GridReader<T> nextPage(By nextPageLocator) {
+        this.nextPage = nextPageLocator;
+        return this;
+    }
+    
+    /**
+     * Virtualized list: scroll this viewport to render further rows
+     */
+    public GridReader<T> virtualScroll(By viewportLocator) {
+        this.viewport = viewportLocator;
+        return this;
+    }
+    
+    /**
+     * Rows read per script call
+     */
+    public GridReader<T> batchSize(int rows) {
+        this.batchSize = rows;
+        return this;
+    }
+    
+    /**
+     * Lazy stream of all rows, following pagination or scrolling as it is consumed
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+    
+    /**
+     * Lazy iterator over all rows, following pagination or scrolling as it is consumed
+     */
+    public Iterator<T> iterator() {
+        if (!Locators.isScriptable(rowLocator) || !columns.values().stream().allMatch(Locators::isScriptable)) {
+            throw new IllegalArgumentException("GridReader needs standard By locators for rows and columns");
+        }
+        return new RowIterator();
+    }
+    
+    /**
+     * Read every row into a list. Prefer {@link #stream()} for large grids.
+     */
+    public List<T> readAll() {
+        List<T> rows = new ArrayList<>();
+        iterator().forEachRemaining(rows::add);
+        return rows;
+    }
+    
+    private Duration timeout() {
+        return Deadline.remaining(Duration.ofSeconds(config.getExplicitTimeout()));
+    }
+    
+    /**
+     * Pulls one batch at a time and only remembers the keys of the previous window
+     */
+    private final class RowIterator implements Iterator<T> {
+        private final Deque<T> buffer = new ArrayDeque<>();
+        private Set<String> previousWindow = new HashSet<>();
+        private int offset;
+        private int page = 1;
+        private long rowsRead;
+        private boolean started;
+        private boolean exhausted;
+        
+        @Override
+        public boolean hasNext() {
+            if (!started) {
+                started = true;
+                // An empty grid yields no rows once the page has settled instead of failing
+                DomWait.until(rowLocator, DomWait.Condition.PRESENT_OR_SETTLED, timeout(),
+                        String.valueOf(config.getNetworkQuietPeriod()));
+            }
+            while (buffer.isEmpty() && !exhausted) {
+                if (viewport != null) {
+                    fetchViewport();
+                } else {
+                    fetchPage();
+                }
+            }
+            return !buffer.isEmpty();
+        }
+        
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more rows in grid " + rowLocator);
+            }
+            return buffer.poll();
+        }
+        
+        private void fetchPage() {
+            Map<String, Object> batch = read(offset, batchSize);
+            List<Map<String, Object>> rows = rows(batch);
+            rows.forEach(row -> buffer.add(mapper.apply(values(row))));
+            offset += rows.size();
+            rowsRead += rows.size();
+            if (offset < toInt(batch.get("total")) && !rows.isEmpty()) {
+                return;
+            }
+            if (nextPage != null && Boolean.TRUE.equals(batch.get("hasNext"))) {
+                turnPage((String) batch.get("signature"));
+            } else {
+                log.debug("Read {} row(s) from {} page(s) of {}", rowsRead, page, rowLocator);
+                exhausted = true;
+            }
+        }
+        
+        private void fetchViewport() {
+            Set<String> window = new HashSet<>();
+            for (Map<String, Object> row : rows(read(0, Integer.MAX_VALUE))) {
+                Map<String, String> values = values(row);
+                String key = row.get("key") != null ? (String) row.get("key") : String.join(KEY_SEPARATOR, values.values());
+                window.add(key);
+                if (!previousWindow.contains(key)) {
+                    buffer.add(mapper.apply(values));
+                    rowsRead++;
+                }
+            }
+            previousWindow = window;
+            long settle = Math.min(config.getGridScrollSettleTimeout(), timeout().toMillis());
+            Map<?, ?> scrolled = (Map<?, ?>) PageAgent.executeAsync(PageAgent.Op.GRID_SCROLL,
+                    Locators.toScriptArgs(viewport), settle);
+            ElementCache.invalidate(DriverManager.getDriver());
+            if ("timeout".equals(scrolled.get("state"))) {
+                // The viewport moved without re-rendering; the next read keeps only keys not seen before
+                log.debug("Virtualized list {} scrolled without re-rendering within {} ms", rowLocator, settle);
+            }
+            if ("end".equals(scrolled.get("state"))) {
+                log.debug("Read {} row(s) from virtualized list {}", rowsRead, rowLocator);
+                exhausted = true;
+            }
+        }
+        
+        private void turnPage(String signature) {
+            new Element(nextPage, "Next page").click();
+            AgentWait.Outcome changed = AgentWait.run("Grid page change", timeout(), budget -> PageAgent.executeAsync(
+                    PageAgent.Op.GRID_PAGE_CHANGE, Locators.toScriptArgs(rowLocator), keyAttribute, signature, budget));
+            if (!changed.isOk()) {
+                throw new TimeoutException(
+                        "Page " + (page + 1) + " of grid " + rowLocator + " did not render");
+            }
+            page++;
+            offset = 0;
+        }
+        
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> read(int start, int limit) {
+            Map<String, List<Object>> columnArgs = new LinkedHashMap<>();
+            columns.forEach((key, by) -> columnArgs.put(key, Locators.toScriptArgs(by)));
+            return (Map<String, Object>) PageAgent.execute(PageAgent.Op.GRID_READ,
+                    Locators.toScriptArgs(rowLocator), columnArgs, keyAttribute, start, limit,
+                    nextPage != null ? Locators.toScriptArgs(nextPage) : null,
+                    viewport != null ? Locators.toScriptArgs(viewport) : null);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> rows(Map<String, Object> batch) {
+        return (List<Map<String, Object>>) batch.get("rows");
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> values(Map<String, Object> row) {
+        return (Map<String, String>) row.get("values");
+    }
+    
+    private static int toInt(Object raw) {
+        return raw instanceof Number number ? number.intValue() : 0;
+    }
+    
+    private static <R extends Record> Function<Map<String, String>, R> recordMapper(Class<R> recordType) {
+        RecordComponent[] components = recordType.getRecordComponents();
+        Class<?>[] types = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            types[i] = components[i].getType();
+        }
+        Constructor<R> constructor;
+        try {
+            constructor = recordType.getDeclaredConstructor(types);
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("No canonical constructor on " + recordType, e);
+        }
+        return values -> {
+            Object[] args = new Object[components.length];
+            for (int i = 0; i < components.length; i++) {
+                args[i] = convert(values.get(components[i].getName()), types[i]);
+            }
+            try {
+                return constructor.newInstance(args);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot map grid row to " + recordType.getSimpleName(), e);
+            }
+        };
+    }
+    
+    private static Object convert(String text, Class<?> type) {
+        if (type == String.class) {
+            return text;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return text != null && Boolean.parseBoolean(text.trim());
+        }
+        String number = text == null ? "" : text.replaceAll("[^0-9.\\-]", "");
+        if (number.isEmpty()) {
+            number = "0";
+        }
+        if (type == int.class || type == Integer.class) {
+            return (int) Double.parseDouble(number);
+        }
+        if (type == long.class || type == Long.class) {
+            return (long) Double.parseDouble(number);
+        }
+        if (type == double.class || type == Double.class) {
+            return Double.parseDouble(number);
+        }
+        throw new IllegalArgumentException("Unsupported grid column type: " + type.getSimpleName());
+    }
+}
@@ -0,0 +1,78 @@
+package com.automation.core.elements;
+
+import org.openqa.selenium.By;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Translates Selenium locators into arguments for in-page scripts, so elements
+ * can be located inside the same executeScript call that acts on them.
+ */
+class Locators {
+    
+    /**
+     * JavaScript function resolving all matches for a W3C locator strategy:
+     * findAll(using, value, root) returns an array of elements.
+     */
+    static final String FIND_ALL_FUNCTION =
+            "function findAll(using, value, root) {" +
+            "  root = root || document;" +
+            "  switch (using) {" +
+            "    case 'id': return Array.from(root.querySelectorAll('#' + CSS.escape(value)));" +
+            "    case 'class name': return Array.from(root.querySelectorAll('.' + CSS.escape(value)));" +
+            "    case 'name': return Array.from(root.querySelectorAll('[name=\"' + CSS.escape(value) + '\"]'));" +
+            "    case 'css selector': case 'tag name': return Array.from(root.querySelectorAll(value));" +
+            "    case 'xpath':" +
+            "      var snapshot = document.evaluate(value, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "      var nodes = [];" +
+            "      for (var i = 0; i < snapshot.snapshotLength; i++) { nodes.push(snapshot.snapshotItem(i)); }" +
+            "      return nodes;" +
+            "    case 'link text': case 'partial link text':" +
+            "      return Array.from(root.querySelectorAll('a')).filter(function (a) {" +
+            "        var text = (a.innerText || a.textContent || '').trim();" +
+            "        return using === 'link text' ? text === value : text.indexOf(value) >= 0;" +
+            "      });" +
+            "  }" +
+            "  throw new Error('Unsupported locator strategy: ' + using);" +
+            "}";
+    
+    /**
+     * JavaScript function returning the document's mutation epoch as "documentId:counter".
+     * The first call on a document installs a MutationObserver that bumps the counter on
+     * every structural change, so an unchanged epoch means cached handles are still current.
+     */
+    static final String EPOCH_FUNCTION =
+            "function epoch() {" +
+            "  var state = window.__automationEpoch;" +
+            "  if (!state) {" +
+            "    state = window.__automationEpoch = {id: Math.random().toString(36).slice(2), n: 0};" +
+            "    new MutationObserver(function () { state.n++; })" +
+            "        .observe(document, {childList: true, subtree: true});" +
+            "  }" +
+            "  return state.id + ':' + state.n;" +
+            "}";
+    
+    /**
+     * W3C strategies implemented by findAll
+     */
+    private static final Set<String> SCRIPTABLE_STRATEGIES = Set.of(
+            "css selector", "xpath", "id", "name", "class name", "tag name", "link text", "partial link text");
+    
+    /**
+     * Check if a locator can be resolved inside a script. Only the standard W3C strategies
+     * findAll implements qualify; relative and custom locators keep the WebDriver path.
+     */
+    static boolean isScriptable(By locator) {
+        return locator instanceof By.Remotable remotable
+                && SCRIPTABLE_STRATEGIES.contains(remotable.getRemoteParameters().using());
+    }
+    
+    /**
+     * Locator as [using, value] script arguments
+     */
+    static List<Object> toScriptArgs(By locator) {
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        return List.of(parameters.using(), String.valueOf(parameters.value()));
+    }
+}
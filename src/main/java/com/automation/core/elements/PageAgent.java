@@ -0,0 +1,206 @@
+package com.automation.core.elements;
+
+import com.automation.core.browser.DriverManager;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-page helper agent. All framework scripts (waits, actionability, bulk reads, grid
+ * paging, form fill, readiness) and the fetch/XHR request counter are installed once per document as window.__automationAgent; each call then
+ * sends only an opcode and its arguments instead of the full script text.
+ * On Chromium the agent is registered with Page.addScriptToEvaluateOnNewDocument, so
+ * every new document starts with it. Elsewhere, or when registration fails, it is
+ * injected the first time a call finds it missing on the current document.
+ */
+@Slf4j
+class PageAgent {
+    
+    /**
+     * Agent commands. Each body is run as a function, so it reads its own arguments;
+     * asynchronous commands receive the completion callback as the last argument.
+     * Bodies call the shared HELPERS instead of defining their own.
+     */
+    enum Op {
+        DOM_WAIT(DomWait.SCRIPT),
+        ACTIONABILITY(Actionability.SCRIPT),
+        READ_LIST(ElementList.SCRIPT),
+        GRID_READ(GridReader.READ_SCRIPT),
+        GRID_PAGE_CHANGE(GridReader.PAGE_CHANGE_SCRIPT),
+        GRID_SCROLL(GridReader.SCROLL_SCRIPT),
+        FILL_FORM(FormFill.SCRIPT),
+        NETWORK_IDLE(PageReadiness.NETWORK_IDLE_SCRIPT),
+        STABLE_DOM(PageReadiness.STABLE_DOM_SCRIPT),
+        INSTALL_CLOCK(PageClock.SCRIPT),
+        EPOCH(ElementCache.EPOCH_SCRIPT);
+        
+        private final String body;
+        
+        Op(String body) {
+            this.body = body;
+        }
+    }
+    
+    private static final String MISSING = "__agentMissing";
+    private static final int VERSION = 5;
+    
+    /**
+     * Functions every command can call: findAll and epoch (see Locators), and the one
+     * definition of a visible element, an enabled control and an element's text
+     */
+    private static final String HELPERS =
+            Locators.FIND_ALL_FUNCTION +
+            Locators.EPOCH_FUNCTION +
+            "function visible(node) {" +
+            "  var rect = node.getBoundingClientRect();" +
+            "  if (rect.width === 0 || rect.height === 0) { return false; }" +
+            "  if (node.checkVisibility) { return node.checkVisibility({checkVisibilityCSS: true}); }" +
+            "  var style = getComputedStyle(node);" +
+            "  return style.display !== 'none' && style.visibility !== 'hidden';" +
+            "}" +
+            "function enabled(node) {" +
+            "  return node.disabled !== true && !node.closest('fieldset[disabled]')" +
+            "      && node.getAttribute('aria-disabled') !== 'true';" +
+            "}" +
+            "function text(node) { return node ? (node.innerText || node.textContent || '').trim() : null; }";
+    
+    private static final String SOURCE = buildSource();
+    
+    private static final String CALL =
+            "var agent = window.__automationAgent;" +
+            "if (!agent || agent.version !== " + VERSION + ") { return {" + MISSING + ": true}; }" +
+            "return agent.ops[arguments[0]].apply(null, arguments[1]);";
+    
+    private static final String CALL_ASYNC =
+            "var done = arguments[arguments.length - 1], agent = window.__automationAgent;" +
+            "if (!agent || agent.version !== " + VERSION + ") { return done({" + MISSING + ": true}); }" +
+            "agent.ops[arguments[0]].apply(null, arguments[1].concat([done]));";
+    
+    private static final Pattern DOCUMENT_CHANGE =
+            Pattern.compile("(?i).*(unload|navigat|context.*destroyed|cannot find context|detached).*", Pattern.DOTALL);
+    
+    private static final Map<WebDriver, Boolean> registered = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    /**
+     * Run a synchronous agent command on the current thread's driver
+     */
+    static Object execute(Op op, Object... args) {
+        return call(false, op, args);
+    }
+    
+    /**
+     * Run an asynchronous agent command on the current thread's driver
+     */
+    static Object executeAsync(Op op, Object... args) {
+        return call(true, op, args);
+    }
+    
+    private static Object call(boolean async, Op op, Object[] args) {
+        WebDriver driver = DriverManager.getDriver();
+        register(driver);
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Object result = send(js, async, op, args);
+        if (isMissing(result)) {
+            log.trace("Injecting page agent into current document");
+            js.executeScript(SOURCE);
+            result = send(js, async, op, args);
+        }
+        return result;
+    }
+    
+    private static Object send(JavascriptExecutor js, boolean async, Op op, Object[] args) {
+        return async
+                ? js.executeAsyncScript(CALL_ASYNC, op.name(), Arrays.asList(args))
+                : js.executeScript(CALL, op.name(), Arrays.asList(args));
+    }
+    
+    /**
+     * Check if a script failed only because its document went away (navigation, reload);
+     * such calls are worth retrying on the next document, unlike session or window failures
+     */
+    static boolean isDocumentChange(WebDriverException e) {
+        return e instanceof JavascriptException && e.getMessage() != null
+                && DOCUMENT_CHANGE.matcher(e.getMessage()).matches();
+    }
+    
+    private static boolean isMissing(Object result) {
+        return result instanceof Map<?, ?> map && Boolean.TRUE.equals(map.get(MISSING));
+    }
+    
+    /**
+     * Register the agent for every future document of a Chromium session, once per driver
+     */
+    static void register(WebDriver driver) {
+        registered.computeIfAbsent(driver, key -> {
+            if (key instanceof HasCdp chromium) {
+                try {
+                    chromium.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", SOURCE));
+                } catch (WebDriverException e) {
+                    log.debug("Cannot register page agent via CDP, injecting on demand: {}", e.getMessage());
+                }
+            }
+            return Boolean.TRUE;
+        });
+    }
+    
+    /**
+     * Run a command on every future document of a Chromium session, right after the agent is
+     * set up. Returns the CDP script identifier, or null when the session cannot register scripts.
+     */
+    static String registerOnNewDocument(WebDriver driver, Op op) {
+        register(driver);
+        if (!(driver instanceof HasCdp chromium)) {
+            return null;
+        }
+        String source = "(function () { var agent = window.__automationAgent;"
+                + " if (agent && agent.version === " + VERSION + ") { agent.ops['" + op.name() + "'](); } })();";
+        try {
+            Map<String, Object> result = chromium.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                    Map.of("source", source));
+            return String.valueOf(result.get("identifier"));
+        } catch (WebDriverException e) {
+            log.debug("Cannot register {} via CDP: {}", op, e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Remove a script registered with registerOnNewDocument
+     */
+    static void unregisterOnNewDocument(WebDriver driver, String identifier) {
+        if (identifier == null || !(driver instanceof HasCdp chromium)) {
+            return;
+        }
+        try {
+            chromium.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", identifier));
+        } catch (WebDriverException e) {
+            log.debug("Could not remove new-document script {}: {}", identifier, e.getMessage());
+        }
+    }
+    
+    private static String buildSource() {
+        StringBuilder source = new StringBuilder()
+                .append("(function () {")
+                .append("if (window.__automationAgent && window.__automationAgent.version === ").append(VERSION).append(") { return; }")
+                .append(HELPERS)
+                .append("var network = (function () {").append(PageReadiness.NETWORK_TRACKER).append("})();")
+                .append("var ops = {};");
+        for (Op op : Op.values()) {
+            source.append("ops['").append(op.name()).append("'] = function () {").append(op.body).append("};");
+        }
+        return source
+                .append("Object.defineProperty(window, '__automationAgent', {value: {version: ")
+                .append(VERSION).append(", ops: ops, network: network}, configurable: true});")
+                .append("})();")
+                .toString();
+    }
+}
@@ -0,0 +1,243 @@
+package com.automation.core.elements;
+
+import com.automation.core.browser.DriverManager;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Controllable page clock for debounce timers, auto-hiding toasts and polling.
+ * Once installed, setTimeout/setInterval, Date and performance.now go through a shim:
+ * timers still fire in real time, but advance() and runUntilIdle() fire them early, in
+ * due order, moving Date forward with them. Each fired timer is followed by a macrotask
+ * yield, so promise callbacks it starts run before the next timer, as they would natively.
+ * On Chromium the shim is registered for new documents and is in place before page
+ * scripts run; elsewhere it is added after each WebActions navigation, so timers a page
+ * creates before that run in real time only. Releasing the driver uninstalls the clock,
+ * so pooled and context sessions hand native timers to the next test.
+ */
+@Slf4j
+public class PageClock {
+    
+    private static final int MAX_TIMERS = 10_000;
+    
+    static final String SCRIPT =
+            "(function () {" +
+            "  if (window.__automationClock) { return; }" +
+            "  var originals = {setTimeout: window.setTimeout, setInterval: window.setInterval, clearTimeout: window.clearTimeout," +
+            "    clearInterval: window.clearInterval, Date: window.Date, perfNow: window.performance && window.performance.now};" +
+            "  var nativeSetTimeout = window.setTimeout.bind(window), nativeClearTimeout = window.clearTimeout.bind(window);" +
+            "  var NativeDate = window.Date, nativeNow = NativeDate.now;" +
+            "  var perf = window.performance, nativePerfNow = perf && perf.now ? perf.now.bind(perf) : null;" +
+            "  var offset = 0, nextId = 1000000, timers = {};" +
+            "  function now() { return nativeNow() + offset; }" +
+            "  function arm(timer) {" +
+            "    timer.handle = nativeSetTimeout(function () { fire(timer); }, Math.max(0, timer.due - now()));" +
+            "  }" +
+            "  function fire(timer) {" +
+            "    if (timers[timer.id] !== timer) { return; }" +
+            "    nativeClearTimeout(timer.handle);" +
+            "    if (timer.interval) { timer.due += timer.interval; arm(timer); } else { delete timers[timer.id]; }" +
+            "    try {" +
+            "      if (typeof timer.callback === 'function') { timer.callback.apply(window, timer.args); }" +
+            "      else { (0, eval)(String(timer.callback)); }" +
+            "    } catch (e) { nativeSetTimeout(function () { throw e; }); }" +
+            "  }" +
+            "  function schedule(callback, delay, args, repeat) {" +
+            "    var ms = Math.max(0, Number(delay) || 0);" +
+            "    var timer = {id: nextId++, callback: callback, args: args, due: now() + ms, interval: repeat ? Math.max(1, ms) : 0};" +
+            "    timers[timer.id] = timer;" +
+            "    arm(timer);" +
+            "    return timer.id;" +
+            "  }" +
+            "  function cancel(id) {" +
+            "    var timer = timers[id];" +
+            "    if (timer) { nativeClearTimeout(timer.handle); delete timers[id]; } else { nativeClearTimeout(id); }" +
+            "  }" +
+            "  window.setTimeout = function (callback, delay) {" +
+            "    return schedule(callback, delay, Array.prototype.slice.call(arguments, 2), false);" +
+            "  };" +
+            "  window.setInterval = function (callback, delay) {" +
+            "    return schedule(callback, delay, Array.prototype.slice.call(arguments, 2), true);" +
+            "  };" +
+            "  window.clearTimeout = cancel;" +
+            "  window.clearInterval = cancel;" +
+            "  function FakeDate(year, month, day, hours, minutes, seconds, millis) {" +
+            "    if (!(this instanceof FakeDate)) { return new NativeDate(now()).toString(); }" +
+            "    if (arguments.length === 0) { return new NativeDate(now()); }" +
+            "    if (arguments.length === 1) { return new NativeDate(year); }" +
+            "    return new NativeDate(year, month, day === undefined ? 1 : day, hours || 0, minutes || 0, seconds || 0, millis || 0);" +
+            "  }" +
+            "  FakeDate.prototype = NativeDate.prototype;" +
+            "  FakeDate.now = now;" +
+            "  FakeDate.parse = NativeDate.parse;" +
+            "  FakeDate.UTC = NativeDate.UTC;" +
+            "  window.Date = FakeDate;" +
+            "  if (nativePerfNow) { perf.now = function () { return nativePerfNow() + offset; }; }" +
+            "  function earliest(limit, timeoutsOnly) {" +
+            "    var next = null;" +
+            "    for (var id in timers) {" +
+            "      var timer = timers[id];" +
+            "      if (timer.due <= limit && !(timeoutsOnly && timer.interval)" +
+            "          && (!next || timer.due < next.due || (timer.due === next.due && timer.id < next.id))) { next = timer; }" +
+            "    }" +
+            "    return next;" +
+            "  }" +
+            "  function fireAt(timer) {" +
+            "    offset += Math.max(0, timer.due - now());" +
+            "    fire(timer);" +
+            "  }" +
+            "  function yieldThen(step) {" +
+            "    var channel = new MessageChannel();" +
+            "    channel.port1.onmessage = function () { channel.port1.close(); step(); };" +
+            "    channel.port2.postMessage(null);" +
+            "  }" +
+            "  function advance(ms, limit, done) {" +
+            "    var target = now() + ms, fired = 0;" +
+            "    (function step() {" +
+            "      var next = earliest(target, false);" +
+            "      if (!next) { offset += Math.max(0, target - now()); return done({state: 'ok', fired: fired}); }" +
+            "      if (fired >= limit) { return done({state: 'limit', fired: fired}); }" +
+            "      fireAt(next);" +
+            "      fired++;" +
+            "      yieldThen(step);" +
+            "    })();" +
+            "  }" +
+            "  function runUntilIdle(limit, done) {" +
+            "    var fired = 0;" +
+            "    (function step() {" +
+            "      var timeout = earliest(Infinity, true);" +
+            "      if (!timeout) { return done({state: 'ok', fired: fired}); }" +
+            "      if (fired >= limit) { return done({state: 'limit', fired: fired}); }" +
+            "      fireAt(earliest(timeout.due, false));" +
+            "      fired++;" +
+            "      yieldThen(step);" +
+            "    })();" +
+            "  }" +
+            "  function uninstall() {" +
+            "    window.setTimeout = originals.setTimeout;" +
+            "    window.setInterval = originals.setInterval;" +
+            "    window.clearTimeout = originals.clearTimeout;" +
+            "    window.clearInterval = originals.clearInterval;" +
+            "    window.Date = originals.Date;" +
+            "    if (nativePerfNow) { perf.now = originals.perfNow; }" +
+            "    offset = 0;" +
+            "    delete window.__automationClock;" +
+            "  }" +
+            "  Object.defineProperty(window, '__automationClock', {" +
+            "    value: {advance: advance, runUntilIdle: runUntilIdle, uninstall: uninstall}, configurable: true" +
+            "  });" +
+            "})();";
+    
+    private static final String ADVANCE_SCRIPT =
+            "var clock = window.__automationClock, done = arguments[arguments.length - 1];" +
+            "if (!clock) { return done({state: 'missing'}); }" +
+            "clock.advance(arguments[0], arguments[1], done);";
+    
+    private static final String RUN_UNTIL_IDLE_SCRIPT =
+            "var clock = window.__automationClock, done = arguments[arguments.length - 1];" +
+            "if (!clock) { return done({state: 'missing'}); }" +
+            "clock.runUntilIdle(arguments[0], done);";
+    
+    private static final String UNINSTALL_SCRIPT =
+            "if (window.__automationClock) { window.__automationClock.uninstall(); }";
+    
+    /**
+     * CDP identifier of the new-document registration per driver; empty when not registered
+     */
+    private static final Map<WebDriver, String> installed = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    /**
+     * Install the clock on the current thread's driver: for every new document on Chromium,
+     * and in the current document. Install before navigating so page timers are controllable.
+     */
+    public static void install() {
+        WebDriver driver = DriverManager.getDriver();
+        installed.computeIfAbsent(driver, key -> {
+            String identifier = PageAgent.registerOnNewDocument(key, PageAgent.Op.INSTALL_CLOCK);
+            return identifier == null ? "" : identifier;
+        });
+        PageAgent.execute(PageAgent.Op.INSTALL_CLOCK);
+        log.debug("Page clock installed");
+    }
+    
+    /**
+     * Remove the clock from a driver before it is reused by another test: stop registering it
+     * for new documents and restore the native timers and Date in the current document
+     */
+    public static void uninstall(WebDriver driver) {
+        String identifier = installed.remove(driver);
+        if (identifier == null) {
+            return;
+        }
+        PageAgent.unregisterOnNewDocument(driver, identifier.isEmpty() ? null : identifier);
+        try {
+            ((JavascriptExecutor) driver).executeScript(UNINSTALL_SCRIPT);
+        } catch (WebDriverException e) {
+            log.debug("Could not restore native timers: {}", e.getMessage());
+        }
+        log.debug("Page clock uninstalled");
+    }
+    
+    /**
+     * Check if the clock was installed on this driver
+     */
+    public static boolean isInstalled(WebDriver driver) {
+        return installed.containsKey(driver);
+    }
+    
+    /**
+     * Add the clock to a freshly loaded document of a driver it was installed on
+     */
+    public static void afterNavigation(WebDriver driver) {
+        if (!isInstalled(driver)) {
+            return;
+        }
+        try {
+            PageAgent.execute(PageAgent.Op.INSTALL_CLOCK);
+        } catch (WebDriverException e) {
+            log.debug("Could not add page clock after navigation: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Move page time forward, firing every timer that falls due on the way in order
+     */
+    public static int advance(Duration duration) {
+        int fired = run(ADVANCE_SCRIPT, duration.toMillis(), MAX_TIMERS);
+        log.debug("Page clock advanced {} ms, {} timer(s) fired", duration.toMillis(), fired);
+        return fired;
+    }
+    
+    /**
+     * Fire pending timeouts (and intervals due before them) until none is left.
+     * Intervals alone never end, so they do not keep the page busy.
+     */
+    public static int runUntilIdle() {
+        int fired = run(RUN_UNTIL_IDLE_SCRIPT, MAX_TIMERS);
+        log.debug("Page clock ran until idle, {} timer(s) fired", fired);
+        return fired;
+    }
+    
+    private static int run(String script, Object... args) {
+        WebDriver driver = DriverManager.getDriver();
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        Map<?, ?> result = (Map<?, ?>) js.executeAsyncScript(script, args);
+        if ("missing".equals(result.get("state"))) {
+            log.warn("Page clock missing on current document; timers created before now run in real time");
+            PageAgent.execute(PageAgent.Op.INSTALL_CLOCK);
+            result = (Map<?, ?>) js.executeAsyncScript(script, args);
+        }
+        ElementCache.invalidate(driver);
+        if ("limit".equals(result.get("state"))) {
+            throw new IllegalStateException("Page kept scheduling timers: stopped after " + MAX_TIMERS + " fired");
+        }
+        return ((Number) result.get("fired")).intValue();
+    }
+}
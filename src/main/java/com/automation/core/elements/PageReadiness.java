@@ -0,0 +1,122 @@
+package com.automation.core.elements;
+
+import com.automation.core.browser.DriverManager;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Framework-agnostic page readiness.
+ * The page agent wraps fetch and XMLHttpRequest as soon as it is installed (at document
+ * start on Chromium, where it is registered for new documents) and counts requests in
+ * flight. Network idle means at most maxInflight requests for a whole quiet period;
+ * a stable DOM means no mutation for a whole quiet period. Both are checked in the page,
+ * so a wait costs one round trip per script-timeout chunk.
+ * Without CDP the agent is injected by the first call on a document, so requests started
+ * before it (including those still in flight) are not counted: network idle is then only
+ * reliable for requests the test triggers afterwards, and a warning is logged once per session.
+ */
+@Slf4j
+public class PageReadiness {
+    
+    private static final Map<WebDriver, Boolean> lateTrackerWarned = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    /**
+     * Installed with the agent: returns the request counter shared by the readiness commands;
+     * late is set when it was installed after the document started loading
+     */
+    static final String NETWORK_TRACKER =
+            "var network = {inflight: 0, lastActivity: Date.now(), late: document.readyState !== 'loading'};" +
+            "function start() { network.inflight++; network.lastActivity = Date.now(); }" +
+            "function end() { network.inflight = Math.max(0, network.inflight - 1); network.lastActivity = Date.now(); }" +
+            "if (window.fetch) {" +
+            "  var originalFetch = window.fetch;" +
+            "  window.fetch = function () {" +
+            "    start();" +
+            "    var promise;" +
+            "    try { promise = originalFetch.apply(this, arguments); } catch (e) { end(); throw e; }" +
+            "    promise.then(end, end);" +
+            "    return promise;" +
+            "  };" +
+            "}" +
+            "if (window.XMLHttpRequest) {" +
+            "  var originalSend = XMLHttpRequest.prototype.send;" +
+            "  XMLHttpRequest.prototype.send = function () {" +
+            "    start();" +
+            "    this.addEventListener('loadend', end);" +
+            "    try { return originalSend.apply(this, arguments); } catch (e) { end(); throw e; }" +
+            "  };" +
+            "}" +
+            "return network;";
+    
+    static final String NETWORK_IDLE_SCRIPT =
+            "var quiet = arguments[0], maxInflight = arguments[1], budget = arguments[2];" +
+            "var done = arguments[arguments.length - 1];" +
+            "var network = window.__automationAgent.network;" +
+            "var deadline = Date.now() + budget;" +
+            "(function check() {" +
+            "  var now = Date.now();" +
+            "  if (network.inflight <= maxInflight && now - network.lastActivity >= quiet" +
+            "      && document.readyState !== 'loading') {" +
+            "    return done({state: 'ok', inflight: network.inflight, late: network.late});" +
+            "  }" +
+            "  if (now >= deadline) { return done({state: 'timeout', inflight: network.inflight, late: network.late}); }" +
+            "  setTimeout(check, Math.min(50, Math.max(1, quiet - (now - network.lastActivity))));" +
+            "})();";
+    
+    static final String STABLE_DOM_SCRIPT =
+            "var quiet = arguments[0], budget = arguments[1];" +
+            "var done = arguments[arguments.length - 1];" +
+            "var lastMutation = Date.now(), mutations = 0;" +
+            "var observer = new MutationObserver(function (records) { lastMutation = Date.now(); mutations += records.length; });" +
+            "observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});" +
+            "var deadline = Date.now() + budget;" +
+            "(function check() {" +
+            "  var now = Date.now();" +
+            "  if (now - lastMutation >= quiet) { observer.disconnect(); return done({state: 'ok', mutations: mutations}); }" +
+            "  if (now >= deadline) { observer.disconnect(); return done({state: 'timeout', mutations: mutations}); }" +
+            "  setTimeout(check, Math.max(1, quiet - (now - lastMutation)));" +
+            "})();";
+    
+    /**
+     * Register the agent for new documents before navigating, so their very first requests are counted
+     */
+    public static void prepare() {
+        PageAgent.register(DriverManager.getDriver());
+    }
+    
+    /**
+     * Wait until at most maxInflight fetch/XHR requests have been in flight for the whole quiet period
+     */
+    public static void waitForNetworkIdle(Duration quietPeriod, int maxInflight, Duration timeout) {
+        Map<?, ?> result = AgentWait.run("Network idle wait", timeout, budget -> PageAgent.executeAsync(
+                PageAgent.Op.NETWORK_IDLE, quietPeriod.toMillis(), maxInflight, budget)).result();
+        if (Boolean.TRUE.equals(result.get("late")) && lateTrackerWarned.put(DriverManager.getDriver(), Boolean.TRUE) == null) {
+            log.warn("Network tracker was injected after the page started loading (no CDP registration): "
+                    + "requests already in flight are not counted, so network idle may pass early");
+        }
+        if (!"ok".equals(result.get("state"))) {
+            throw new TimeoutException("Network not idle within " + timeout.toMillis() + " ms ("
+                    + result.get("inflight") + " request(s) in flight)");
+        }
+        log.debug("Network idle for {} ms", quietPeriod.toMillis());
+    }
+    
+    /**
+     * Wait until the DOM has not changed for the whole quiet period
+     */
+    public static void waitForStableDom(Duration quietPeriod, Duration timeout) {
+        Map<?, ?> result = AgentWait.run("Stable DOM wait", timeout, budget -> PageAgent.executeAsync(
+                PageAgent.Op.STABLE_DOM, quietPeriod.toMillis(), budget)).result();
+        if (!"ok".equals(result.get("state"))) {
+            throw new TimeoutException("DOM still changing after " + timeout.toMillis() + " ms ("
+                    + result.get("mutations") + " mutation(s) in the last check)");
+        }
+        log.debug("DOM stable for {} ms", quietPeriod.toMillis());
+    }
+}
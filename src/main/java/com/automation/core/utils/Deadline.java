@@ -0,0 +1,127 @@
+package com.automation.core.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Time budget shared by every wait running on the current thread.
+ * A composite action (Element.click) or a workflow step opens a deadline; nested
+ * waits call {@link #remaining(Duration)} and get whatever is left of the budget
+ * instead of a fresh timeout. Deadlines nest: an inner scope can never outlive its
+ * outer one.
+ *
+ * <pre>
+ * Deadline.run("checkout", Duration.ofSeconds(30), () -> {
+ *     ...
+ * });
+ * </pre>
+ *
+ * Code that needs the deadline itself (e.g. its remaining time) opens it in a
+ * try-with-resources block with {@link #start(String, Duration)}.
+ */
+@Slf4j
+public final class Deadline implements AutoCloseable {
+    
+    private static final ThreadLocal<Deadline> current = new ThreadLocal<>();
+    
+    private final String name;
+    private final Instant expiresAt;
+    private final Deadline parent;
+    
+    private Deadline(String name, Instant expiresAt, Deadline parent) {
+        this.name = name;
+        this.expiresAt = expiresAt;
+        this.parent = parent;
+    }
+    
+    /**
+     * Open a deadline on the current thread, capped by any enclosing deadline
+     */
+    public static Deadline start(String name, Duration budget) {
+        Deadline parent = current.get();
+        Instant expiresAt = Instant.now().plus(budget);
+        if (parent != null && parent.expiresAt.isBefore(expiresAt)) {
+            expiresAt = parent.expiresAt;
+        }
+        Deadline deadline = new Deadline(name, expiresAt, parent);
+        current.set(deadline);
+        return deadline;
+    }
+    
+    /**
+     * Run the body under a deadline opened for it
+     */
+    public static void run(String name, Duration budget, Runnable body) {
+        Deadline deadline = start(name, budget);
+        try {
+            body.run();
+        } finally {
+            deadline.close();
+        }
+    }
+    
+    /**
+     * Run the body under a deadline opened for it and return its result
+     */
+    public static <T> T call(String name, Duration budget, Supplier<T> body) {
+        Deadline deadline = start(name, budget);
+        try {
+            return body.get();
+        } finally {
+            deadline.close();
+        }
+    }
+    
+    /**
+     * Time left in the current deadline, or the given timeout if it is shorter or no deadline is open
+     */
+    public static Duration remaining(Duration timeout) {
+        Deadline deadline = current.get();
+        if (deadline == null) {
+            return timeout;
+        }
+        Duration left = deadline.remaining();
+        return left.compareTo(timeout) < 0 ? left : timeout;
+    }
+    
+    /**
+     * Name of the innermost open deadline, for error messages
+     */
+    public static String currentName() {
+        Deadline deadline = current.get();
+        return deadline == null ? null : deadline.name;
+    }
+    
+    /**
+     * Time left before this deadline expires, never negative
+     */
+    public Duration remaining() {
+        Duration left = Duration.between(Instant.now(), expiresAt);
+        return left.isNegative() ? Duration.ZERO : left;
+    }
+    
+    /**
+     * Check if the budget is used up
+     */
+    public boolean isExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+    
+    /**
+     * Close this deadline and restore the enclosing one
+     */
+    @Override
+    public void close() {
+        if (current.get() != this) {
+            log.warn("Deadline '{}' closed out of order", name);
+        }
+        if (parent == null) {
+            current.remove();
+        } else {
+            current.set(parent);
+        }
+    }
+}
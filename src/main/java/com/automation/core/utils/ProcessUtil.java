@@ -0,0 +1,184 @@
+package com.automation.core.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+/**
+ * Utility class for reading process and memory information from /proc (Linux only).
+ * All methods degrade gracefully (return -1 or empty results) on other platforms.
+ */
+@Slf4j
+public class ProcessUtil {
+    
+    private static final Path PROC = Paths.get("/proc");
+    
+    /**
+     * Check if /proc is available
+     */
+    public static boolean isSupported() {
+        return Files.isReadable(PROC.resolve("meminfo"));
+    }
+    
+    /**
+     * Available memory in bytes (MemAvailable from /proc/meminfo), or -1 if unknown
+     */
+    public static long memAvailableBytes() {
+        return readMemInfo("MemAvailable:");
+    }
+    
+    /**
+     * Total memory in bytes (MemTotal from /proc/meminfo), or -1 if unknown
+     */
+    public static long memTotalBytes() {
+        return readMemInfo("MemTotal:");
+    }
+    
+    /**
+     * Resident set size of a single process in bytes, or -1 if unknown
+     */
+    public static long rssBytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(PROC.resolve(pid + "/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return parseKb(line) * 1024;
+                }
+            }
+        } catch (IOException e) {
+            log.trace("Cannot read status of pid {}: {}", pid, e.getMessage());
+        }
+        return -1;
+    }
+    
+    /**
+     * CPU time (user + system) consumed by a process in clock ticks, or -1 if unknown
+     */
+    public static long cpuTicks(long pid) {
+        try {
+            String stat = Files.readString(PROC.resolve(pid + "/stat"));
+            // Fields after the command name, which is wrapped in parentheses and may contain spaces
+            String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+            return Long.parseLong(fields[11]) + Long.parseLong(fields[12]);
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+    
+    /**
+     * Combined CPU time of a process and all its descendants in clock ticks
+     */
+    public static long treeCpuTicks(long pid) {
+        long total = 0;
+        for (long member : processTree(pid)) {
+            long ticks = cpuTicks(member);
+            if (ticks > 0) {
+                total += ticks;
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Combined resident set size of a process and all its descendants in bytes
+     */
+    public static long treeRssBytes(long pid) {
+        long total = 0;
+        for (long member : processTree(pid)) {
+            long rss = rssBytes(member);
+            if (rss > 0) {
+                total += rss;
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * The process itself followed by all of its live descendants
+     */
+    public static List<Long> processTree(long pid) {
+        List<Long> tree = new ArrayList<>();
+        ProcessHandle.of(pid).ifPresent(handle -> {
+            tree.add(handle.pid());
+            handle.descendants().forEach(child -> tree.add(child.pid()));
+        });
+        return tree;
+    }
+    
+    /**
+     * Command line of a process with arguments separated by spaces, or empty if unknown
+     */
+    public static String cmdline(long pid) {
+        try {
+            byte[] raw = Files.readAllBytes(PROC.resolve(pid + "/cmdline"));
+            return new String(raw, StandardCharsets.UTF_8).replace('\0', ' ').trim();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+    
+    /**
+     * Environment of a process, one VAR=value entry per line, or empty if unknown or not readable
+     */
+    public static String environ(long pid) {
+        try {
+            byte[] raw = Files.readAllBytes(PROC.resolve(pid + "/environ"));
+            return new String(raw, StandardCharsets.UTF_8).replace('\0', '\n');
+        } catch (IOException e) {
+            return "";
+        }
+    }
+    
+    /**
+     * Find all processes of the current user whose environment contains the given text
+     */
+    public static List<Long> findPidsByEnvironment(String text) {
+        return findPids(pid -> environ(pid).contains(text));
+    }
+    
+    /**
+     * Find all processes whose command line contains the given text
+     */
+    public static List<Long> findPidsByArgument(String text) {
+        return findPids(pid -> cmdline(pid).contains(text));
+    }
+    
+    private static List<Long> findPids(LongPredicate filter) {
+        List<Long> pids = new ArrayList<>();
+        try (Stream<Path> entries = Files.list(PROC)) {
+            entries.map(path -> path.getFileName().toString())
+                    .filter(name -> name.chars().allMatch(Character::isDigit))
+                    .map(Long::parseLong)
+                    .filter(filter::test)
+                    .forEach(pids::add);
+        } catch (IOException e) {
+            log.debug("Cannot list processes: {}", e.getMessage());
+        }
+        return pids;
+    }
+    
+    private static long readMemInfo(String key) {
+        try {
+            for (String line : Files.readAllLines(PROC.resolve("meminfo"))) {
+                if (line.startsWith(key)) {
+                    return parseKb(line) * 1024;
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Cannot read /proc/meminfo: {}", e.getMessage());
+        }
+        return -1;
+    }
+    
+    private static long parseKb(String line) {
+        String[] parts = line.trim().split("\\s+");
+        return Long.parseLong(parts[1]);
+    }
+}
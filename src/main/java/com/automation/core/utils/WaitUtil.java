@@ -12,12 +12,18 @@ import java.util.concurrent.Callable;
 @Slf4j
 public class WaitUtil {
     
+    private static final Duration INITIAL_POLL = Duration.ofMillis(10);
+    
     /**
-     * Wait for condition with custom timeout and polling
+     * Wait for condition with custom timeout and polling.
+     * Polling starts at 10 ms and doubles up to pollingInterval, so conditions that
+     * are met quickly return without paying a full polling interval.
+     * The timeout is capped by the enclosing {@link Deadline}, if any.
      */
     public static <T> T waitFor(Callable<T> condition, Duration timeout, Duration pollingInterval) {
-        Instant endTime = Instant.now().plus(timeout);
+        Instant endTime = Instant.now().plus(Deadline.remaining(timeout));
         Exception lastException = null;
+        long delay = Math.min(INITIAL_POLL.toMillis(), pollingInterval.toMillis());
         
         while (Instant.now().isBefore(endTime)) {
             try {
@@ -30,7 +36,8 @@ public class WaitUtil {
             }
             
             try {
-                Thread.sleep(pollingInterval.toMillis());
+                Thread.sleep(Math.min(delay, Math.max(0, Duration.between(Instant.now(), endTime).toMillis())));
+                delay = Math.min(delay * 2, pollingInterval.toMillis());
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 throw new RuntimeException("Wait interrupted", e);
@@ -41,7 +48,7 @@ public class WaitUtil {
     }
     
     /**
-     * Wait for condition with default polling (500ms)
+     * Wait for condition with default polling (backing off to 500ms)
      */
     public static <T> T waitFor(Callable<T> condition, Duration timeout) {
         return waitFor(condition, timeout, Duration.ofMillis(500));
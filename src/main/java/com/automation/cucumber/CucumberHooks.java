@@ -1,6 +1,9 @@
 package com.automation.cucumber;
 
+import com.automation.core.browser.BrowserProcessMonitor;
 import com.automation.core.browser.DriverManager;
+import com.automation.core.browser.FastRender;
+import com.automation.core.browser.SessionWatchdog;
 import com.automation.core.config.ConfigManager;
 import com.automation.core.utils.ScreenshotUtil;
 import io.cucumber.java.After;
@@ -16,6 +19,9 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class CucumberHooks {
     
+    private static final String NO_BROWSER_TAG = "@nobrowser";
+    private static final String FULL_RENDER_TAG = "@fullrender";
+    
     private ConfigManager config;
     
     @Before
@@ -23,8 +29,11 @@ public class CucumberHooks {
         config = ConfigManager.getInstance();
         log.info("Starting scenario: {}", scenario.getName());
         
-        // Initialize driver
-        DriverManager.getDriver();
+        // Driver is created lazily on first use; @nobrowser scenarios never start one
+        DriverManager.setBrowserAllowed(!scenario.getSourceTagNames().contains(NO_BROWSER_TAG));
+        // @fullrender scenarios (visual checks) load every resource and keep animations
+        FastRender.setAllowed(!scenario.getSourceTagNames().contains(FULL_RENDER_TAG));
+        SessionWatchdog.startTest();
         
         // Store scenario in context
         ScenarioContext.setScenario(scenario);
@@ -32,6 +41,7 @@ public class CucumberHooks {
     
     @After
     public void afterScenario(Scenario scenario) {
+        SessionWatchdog.endTest();
         log.info("Finished scenario: {} - Status: {}", scenario.getName(), scenario.getStatus());
         
         // Capture screenshot on failure
@@ -39,8 +49,16 @@ public class CucumberHooks {
             captureScreenshot(scenario);
         }
         
-        // Quit driver
-        DriverManager.quitDriver();
+        // Publish browser resource usage before the session is released
+        if (DriverManager.hasDriver()) {
+            BrowserProcessMonitor.describe(DriverManager.getDriver()).ifPresent(scenario::log);
+            FastRender.describe(DriverManager.getDriver()).ifPresent(scenario::log);
+        }
+        
+        // Release driver (quit, or return to pool)
+        DriverManager.releaseDriver();
+        DriverManager.setBrowserAllowed(true);
+        FastRender.setAllowed(true);
         
         // Clear scenario context
         ScenarioContext.clear();
@@ -1,32 +1,77 @@
 package com.automation.pages;
 
+import com.automation.core.actions.ReadinessProbe;
 import com.automation.core.actions.WebActions;
 import com.automation.core.browser.DriverManager;
 import com.automation.core.config.ConfigManager;
 import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.pagefactory.DefaultElementLocatorFactory;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Base Page Object class that all page objects should extend.
  * Provides common functionality and ensures proper initialization.
  * Pages should only expose methods that represent user actions on that page.
+ * Creating a page does not touch the browser: the driver and WebActions are resolved
+ * on first use, and PageFactory only decorates pages that declare WebElement fields.
  */
 @Slf4j
 public abstract class BasePage {
     
-    protected WebDriver driver;
-    protected WebActions webActions;
+    private static final Map<Class<?>, Boolean> usesPageFactory = new ConcurrentHashMap<>();
+    
+    /**
+     * Resolves PageFactory fields against the current thread's driver when they are first used
+     */
+    private static final SearchContext currentDriver = new SearchContext() {
+        @Override
+        public List<WebElement> findElements(By by) {
+            return DriverManager.getDriver().findElements(by);
+        }
+        
+        @Override
+        public WebElement findElement(By by) {
+            return DriverManager.getDriver().findElement(by);
+        }
+    };
+    
     protected ConfigManager config;
+    private WebActions webActions;
     
     public BasePage() {
-        this.driver = DriverManager.getDriver();
-        this.webActions = new WebActions();
         this.config = ConfigManager.getInstance();
-        PageFactory.initElements(driver, this);
+        if (usesPageFactory.computeIfAbsent(getClass(), BasePage::declaresWebElements)) {
+            PageFactory.initElements(new DefaultElementLocatorFactory(currentDriver), this);
+        }
         log.debug("Initialized page: {}", this.getClass().getSimpleName());
     }
     
+    /**
+     * Driver of the current thread, created on first use
+     */
+    protected WebDriver driver() {
+        return DriverManager.getDriver();
+    }
+    
+    /**
+     * Browser actions for this page, created on first use
+     */
+    protected WebActions webActions() {
+        if (webActions == null) {
+            webActions = new WebActions();
+        }
+        return webActions;
+    }
+    
     /**
      * Verify if the page is loaded.
      * Each page should implement this to verify page-specific elements.
@@ -38,28 +83,51 @@ public abstract class BasePage {
      * Override this in pages that can be directly navigated to.
      */
     public void navigateTo(String url) {
-        webActions.navigateTo(url);
+        webActions().navigateTo(url, readinessProbe());
         log.info("Navigated to: {}", url);
     }
     
+    /**
+     * What makes this page usable, awaited after navigation on top of the page load strategy.
+     * Override with a cheap check (a key element, an app-ready flag) so navigation can use an
+     * eager or none strategy without racing the page. Null means the load strategy alone decides.
+     */
+    protected ReadinessProbe readinessProbe() {
+        return null;
+    }
+    
     /**
      * Get the page title
      */
     public String getPageTitle() {
-        return webActions.getTitle();
+        return webActions().getTitle();
     }
     
     /**
      * Get the current URL
      */
     public String getCurrentUrl() {
-        return webActions.getCurrentUrl();
+        return webActions().getCurrentUrl();
     }
     
     /**
      * Refresh the page
      */
     public void refresh() {
-        webActions.refresh();
+        webActions().refresh();
+    }
+    
+    /**
+     * Check if a page class has fields PageFactory would decorate (WebElement or List, with or without @FindBy)
+     */
+    private static boolean declaresWebElements(Class<?> pageClass) {
+        for (Class<?> type = pageClass; type != BasePage.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (WebElement.class.isAssignableFrom(field.getType()) || List.class.isAssignableFrom(field.getType())) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 }
@@ -1,7 +1,16 @@
 package com.automation.tests;
 
+import com.automation.core.browser.BrowserContextManager;
+import com.automation.core.browser.BrowserProcessMonitor;
+import com.automation.core.browser.DriverFactory;
 import com.automation.core.browser.DriverManager;
+import com.automation.core.browser.DriverPool;
+import com.automation.core.browser.DriverPrefetcher;
+import com.automation.core.browser.FastRender;
+import com.automation.core.browser.SessionMetrics;
+import com.automation.core.browser.SessionWatchdog;
 import com.automation.core.config.ConfigManager;
+import com.automation.core.elements.ElementCache;
 import com.automation.core.utils.ScreenshotUtil;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
@@ -31,6 +40,7 @@ public abstract class BaseTest {
     public void setupSuite() {
         config = ConfigManager.getInstance();
         setupReporting();
+        DriverFactory.startSharedService();
         log.info("Test suite started");
     }
     
@@ -47,12 +57,15 @@ public abstract class BaseTest {
         ExtentTest test = extent.createTest(method.getName());
         extentTest.set(test);
         
-        // Initialize driver for this test
-        DriverManager.getDriver();
+        // Driver is created lazily on first use; API-only tests never start one
+        DriverManager.setBrowserAllowed(requiresBrowser(method));
+        FastRender.setAllowed(!requiresFullRender(method));
+        SessionWatchdog.startTest();
     }
     
     @AfterMethod(alwaysRun = true)
     public void tearDownTest(ITestResult result) {
+        SessionWatchdog.endTest();
         ExtentTest test = extentTest.get();
         
         if (result.getStatus() == ITestResult.FAILURE) {
@@ -74,8 +87,18 @@ public abstract class BaseTest {
             test.log(Status.SKIP, "Test Skipped: " + result.getThrowable());
         }
         
-        // Quit driver after test
-        DriverManager.quitDriver();
+        // Publish browser resource usage before the session is released
+        if (DriverManager.hasDriver()) {
+            BrowserProcessMonitor.describe(DriverManager.getDriver())
+                    .ifPresent(stats -> test.log(Status.INFO, stats));
+            FastRender.describe(DriverManager.getDriver())
+                    .ifPresent(savings -> test.log(Status.INFO, savings));
+        }
+        
+        // Release driver after test (quit, or return to pool)
+        DriverManager.releaseDriver();
+        DriverManager.setBrowserAllowed(true);
+        FastRender.setAllowed(true);
         log.info("Finished test: {}", result.getName());
     }
     
@@ -86,6 +109,26 @@ public abstract class BaseTest {
     
     @AfterSuite(alwaysRun = true)
     public void tearDownSuite() {
+        DriverPrefetcher.shutdown();
+        DriverPool.shutdown();
+        BrowserContextManager.shutdown();
+        BrowserProcessMonitor.shutdown();
+        SessionMetrics.summary().forEach((metric, value) -> {
+            log.info("Session metric {}: {}", metric, value);
+            if (extent != null) {
+                extent.setSystemInfo(metric, value);
+            }
+        });
+        log.info("Element cache: {}", ElementCache.summary());
+        if (extent != null) {
+            extent.setSystemInfo("element.cache", ElementCache.summary());
+        }
+        if (FastRender.isEnabled()) {
+            log.info("Fast render: {}", FastRender.summary());
+            if (extent != null) {
+                extent.setSystemInfo("fast.render", FastRender.summary());
+            }
+        }
         if (extent != null) {
             extent.flush();
         }
@@ -112,7 +155,33 @@ public abstract class BaseTest {
         log.info("Reporting configured");
     }
     
+    /**
+     * Resolve @NoBrowser on the test method, falling back to the test class
+     */
+    private boolean requiresBrowser(Method method) {
+        NoBrowser noBrowser = method.getAnnotation(NoBrowser.class);
+        if (noBrowser == null) {
+            noBrowser = this.getClass().getAnnotation(NoBrowser.class);
+        }
+        return noBrowser == null || !noBrowser.value();
+    }
+    
+    /**
+     * Resolve @FullRender on the test method, falling back to the test class
+     */
+    private boolean requiresFullRender(Method method) {
+        FullRender fullRender = method.getAnnotation(FullRender.class);
+        if (fullRender == null) {
+            fullRender = this.getClass().getAnnotation(FullRender.class);
+        }
+        return fullRender != null && fullRender.value();
+    }
+    
     private void captureScreenshot(String testName) {
+        if (!DriverManager.hasDriver()) {
+            log.debug("No browser was started for test: {}. Skipping screenshot.", testName);
+            return;
+        }
         try {
             String screenshotBase64 = ScreenshotUtil.captureScreenshotAsBase64(DriverManager.getDriver());
             if (!screenshotBase64.isEmpty()) {
@@ -0,0 +1,21 @@
+package com.automation.tests;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test class or test method that needs the page exactly as users see it
+ * (e.g. visual tests): fast render does not block resources or animations while it runs.
+ * A method-level annotation overrides the class-level one.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface FullRender {
+    
+    /**
+     * Set to false on a method to use fast render inside a @FullRender class
+     */
+    boolean value() default true;
+}
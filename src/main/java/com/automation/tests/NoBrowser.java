@@ -0,0 +1,21 @@
+package com.automation.tests;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test class or test method that never needs a browser (e.g. API tests).
+ * BaseTest will not allow a WebDriver to be created while such a test runs.
+ * A method-level annotation overrides the class-level one.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface NoBrowser {
+    
+    /**
+     * Set to false on a method to require a browser inside a @NoBrowser class
+     */
+    boolean value() default true;
+}
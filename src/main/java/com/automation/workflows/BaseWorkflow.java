@@ -1,8 +1,15 @@
 package com.automation.workflows;
 
+import com.automation.core.actions.StorageState;
+import com.automation.core.actions.WebActions;
 import com.automation.core.config.ConfigManager;
+import com.automation.core.utils.Deadline;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
 /**
  * Base Workflow class that all workflows should extend.
  * Workflows contain business logic and orchestrate interactions between multiple pages.
@@ -25,4 +32,48 @@ public abstract class BaseWorkflow {
     protected void logStep(String stepDescription) {
         log.info("Workflow Step: {}", stepDescription);
     }
+    
+    /**
+     * Start signed in as the user: restore the state stored by an earlier login and open the
+     * landing page, or, when there is none or the application rejects it, run the real login
+     * and store the resulting state for later tests. The check of restored state runs under
+     * auth.state.check.timeout, so a rejected snapshot falls back to login quickly.
+     */
+    protected void signIn(String user, Runnable login, Runnable openLandingPage, BooleanSupplier isSignedIn) {
+        WebActions actions = new WebActions();
+        if (StorageState.restore(actions, user)) {
+            openLandingPage.run();
+            boolean accepted = step("Check stored state for " + user,
+                    Duration.ofSeconds(config.getAuthStateCheckTimeout()), () -> isSignedIn.getAsBoolean());
+            if (accepted) {
+                logStep("Signed in as " + user + " from stored state");
+                return;
+            }
+            logStep("Stored state for " + user + " was rejected, logging in again");
+            StorageState.invalidate(user);
+            StorageState.clear(actions);
+        }
+        login.run();
+        if (StorageState.isEnabled() && isSignedIn.getAsBoolean()) {
+            StorageState.save(StorageState.capture(actions, user));
+        }
+    }
+    
+    /**
+     * Run a workflow step under one time budget shared by all of its waits
+     */
+    protected void step(String stepDescription, Duration budget, Runnable body) {
+        step(stepDescription, budget, () -> {
+            body.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Run a workflow step under one time budget shared by all of its waits, returning its result
+     */
+    protected <T> T step(String stepDescription, Duration budget, Supplier<T> body) {
+        logStep(stepDescription);
+        return Deadline.call(stepDescription, budget, body);
+    }
 }
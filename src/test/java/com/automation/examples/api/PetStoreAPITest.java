@@ -3,6 +3,7 @@ package com.automation.examples.api;
 import com.automation.core.api.APIClient;
 import com.automation.core.api.APIResponse;
 import com.automation.tests.BaseTest;
+import com.automation.tests.NoBrowser;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
@@ -16,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Demonstrates REST API testing capabilities using Swagger PetStore
  * https://petstore.swagger.io/
  */
+@NoBrowser
 public class PetStoreAPITest extends BaseTest {
     
     private APIClient apiClient;
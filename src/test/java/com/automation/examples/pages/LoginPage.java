@@ -1,9 +1,13 @@
 package com.automation.examples.pages;
 
+import com.automation.core.actions.ReadinessProbe;
 import com.automation.core.elements.Element;
 import com.automation.pages.BasePage;
 import org.openqa.selenium.By;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Page Object - Saucedemo Login Page
  * Demonstrates element locators and page interactions
@@ -25,6 +29,14 @@ public class LoginPage extends BasePage {
         navigateTo(url);
     }
     
+    /**
+     * Login page is usable once the username field is visible
+     */
+    @Override
+    protected ReadinessProbe readinessProbe() {
+        return ReadinessProbe.visible(usernameField);
+    }
+    
     /**
      * Verify if login page is loaded
      */
@@ -47,6 +59,16 @@ public class LoginPage extends BasePage {
         passwordField.type(password);
     }
     
+    /**
+     * Enter username and password in one round trip
+     */
+    public void enterCredentials(String username, String password) {
+        Map<Element, String> credentials = new LinkedHashMap<>();
+        credentials.put(usernameField, username);
+        credentials.put(passwordField, password);
+        Element.fillForm(credentials);
+    }
+    
     /**
      * Click login button
      */
@@ -4,6 +4,9 @@ import com.automation.core.elements.Element;
 import com.automation.pages.BasePage;
 import org.openqa.selenium.By;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Page Object - Saucedemo Products Page
  * Demonstrates working with multiple elements and product interactions
@@ -16,12 +19,22 @@ public class ProductsPage extends BasePage {
     private final Element menuButton = new Element(By.id("react-burger-menu-btn"), "Menu Button");
     private final Element logoutLink = new Element(By.id("logout_sidebar_link"), "Logout Link");
     private final Element productSort = new Element(By.className("product_sort_container"), "Product Sort Dropdown");
+    private final Element products = new Element(By.className("inventory_item"), "Products");
+    private final Element cartBadge = new Element(By.className("shopping_cart_badge"), "Cart Badge");
     
     // Product elements (using indices)
     private final Element firstProductName = new Element(By.cssSelector(".inventory_item:nth-child(1) .inventory_item_name"), "First Product Name");
     private final Element firstProductPrice = new Element(By.cssSelector(".inventory_item:nth-child(1) .inventory_item_price"), "First Product Price");
     private final Element firstProductAddButton = new Element(By.cssSelector(".inventory_item:nth-child(1) .btn_inventory"), "First Product Add Button");
     
+    /**
+     * Navigate directly to the products page (needs a signed-in session)
+     */
+    public void open() {
+        String url = config.get("saucedemo.url", "https://www.saucedemo.com");
+        navigateTo(url + "/inventory.html");
+    }
+    
     /**
      * Verify if products page is loaded
      */
@@ -41,8 +54,20 @@ public class ProductsPage extends BasePage {
      * Get count of products displayed
      */
     public int getProductCount() {
-        Element products = new Element(By.className("inventory_item"), "Products");
-        return products.getElements().size();
+        return products.all().count();
+    }
+    
+    /**
+     * Get name and price of every product, read in one round trip
+     */
+    public Map<String, String> getProductPrices() {
+        Map<String, String> prices = new LinkedHashMap<>();
+        for (Map<String, String> row : products.all().readColumns(Map.of(
+                "name", By.className("inventory_item_name"),
+                "price", By.className("inventory_item_price")))) {
+            prices.put(row.get("name"), row.get("price"));
+        }
+        return prices;
     }
     
     /**
@@ -70,7 +95,6 @@ public class ProductsPage extends BasePage {
      * Get shopping cart badge count
      */
     public String getCartBadgeCount() {
-        Element cartBadge = new Element(By.className("shopping_cart_badge"), "Cart Badge");
         return cartBadge.getText();
     }
     
@@ -78,8 +102,7 @@ public class ProductsPage extends BasePage {
      * Check if cart badge is displayed
      */
     public boolean isCartBadgeDisplayed() {
-        Element cartBadge = new Element(By.className("shopping_cart_badge"), "Cart Badge");
-        return cartBadge.isDisplayed();
+        return cartBadge.isDisplayedNow();
     }
     
     /**
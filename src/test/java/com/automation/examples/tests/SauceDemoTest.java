@@ -91,7 +91,7 @@ public class SauceDemoTest extends BaseTest {
         logInfo("Starting product count test");
         
         // Login and navigate to products page
-        loginWorkflow.performCompleteLogin("standard_user", "secret_sauce");
+        loginWorkflow.loginAs("standard_user", "secret_sauce");
         
         // Verify products are displayed
         int productCount = loginWorkflow.getProductCount();
@@ -109,7 +109,7 @@ public class SauceDemoTest extends BaseTest {
         logInfo("Starting add to cart test");
         
         // Login
-        loginWorkflow.performCompleteLogin("standard_user", "secret_sauce");
+        loginWorkflow.loginAs("standard_user", "secret_sauce");
         
         // Add product to cart
         loginWorkflow.addProductToCart();
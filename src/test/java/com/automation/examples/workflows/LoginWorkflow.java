@@ -4,6 +4,8 @@ import com.automation.examples.pages.LoginPage;
 import com.automation.examples.pages.ProductsPage;
 import com.automation.workflows.BaseWorkflow;
 
+import java.time.Duration;
+
 /**
  * Workflow - Saucedemo Login Operations
  * Demonstrates the 3-layer architecture: Test → Workflow → Page Objects
@@ -42,17 +44,30 @@ public class LoginWorkflow extends BaseWorkflow {
      */
     public void login(String username, String password) {
         logStep("Logging in with username: " + username);
-        loginPage.enterUsername(username);
-        loginPage.enterPassword(password);
+        loginPage.enterCredentials(username, password);
         loginPage.clickLogin();
     }
     
     /**
-     * Complete login flow from navigation to products page
+     * Complete login flow from navigation to products page, under one budget for all of its waits
      */
     public void performCompleteLogin(String username, String password) {
-        navigateToLogin();
-        login(username, password);
+        step("Complete login as " + username,
+                Duration.ofSeconds(config.getPageLoadTimeout() + config.getExplicitTimeout()),
+                () -> {
+                    navigateToLogin();
+                    login(username, password);
+                });
+    }
+    
+    /**
+     * Start on the products page signed in as the user, reusing the state of an earlier login when possible
+     */
+    public void loginAs(String username, String password) {
+        signIn(username,
+                () -> performCompleteLogin(username, password),
+                productsPage::open,
+                productsPage::isPageLoaded);
     }
     
     /**